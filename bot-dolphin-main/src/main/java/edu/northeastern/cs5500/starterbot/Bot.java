@@ -2,7 +2,9 @@ package edu.northeastern.cs5500.starterbot;
 
 import dagger.Component;
 import edu.northeastern.cs5500.starterbot.command.CommandModule;
+import edu.northeastern.cs5500.starterbot.controller.EventUserController;
 import edu.northeastern.cs5500.starterbot.listener.MessageListener;
+import edu.northeastern.cs5500.starterbot.repository.AttendanceMigration;
 import edu.northeastern.cs5500.starterbot.repository.RepositoryModule;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.ServiceModule;
@@ -31,18 +33,24 @@ public class Bot {
     @Inject MessageListener messageListener;
     @Inject OpenTelemetryService openTelemetryService;
     @Inject JDA jda;
+    @Inject EventUserController eventUserController;
+    @Inject AttendanceMigration attendanceMigration;
 
     static String getBotToken() {
         return new ProcessBuilder().environment().get("BOT_TOKEN");
     }
 
     void start() {
+        // Outside the try below, so the bot does not start on RSVPs it cannot count
+        attendanceMigration.run();
         var span = openTelemetryService.span("updateCommands", SpanKind.PRODUCER);
         try (Scope scope = span.makeCurrent()) {
             jda.addEventListener(messageListener);
             CommandListUpdateAction commands = jda.updateCommands();
             commands.addCommands(messageListener.allCommandData());
             commands.queue();
+            // Warm the verified-user cache before the first command is checked against it
+            eventUserController.loadVerifiedUsers();
         } catch (Exception e) {
             log.error("Unable to add message listeners", e);
             span.recordException(e);
@@ -126,4 +126,12 @@ public class CommandModule {
             UpcomingPrivateEventsCommand upcomingPrivateEventsCommand) {
         return upcomingPrivateEventsCommand;
     }
+
+    @Provides
+    @IntoMap
+    @StringKey(EventPageButtonHandler.NAME)
+    public ButtonHandler provideEventPageButtonHandler(
+            EventPageButtonHandler eventPageButtonHandler) {
+        return eventPageButtonHandler;
+    }
 }
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
@@ -31,6 +32,7 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
  * @author gmon-k
  */
 @Slf4j
+@Singleton
 public class CreateEventCommand implements SlashCommandHandler {
 
     static final String NAME = "create-event";
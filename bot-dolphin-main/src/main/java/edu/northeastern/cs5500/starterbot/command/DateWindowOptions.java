@@ -0,0 +1,50 @@
+package edu.northeastern.cs5500.starterbot.command;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+
+/** The "from" and "to" options of the event listings, which restrict them to a window of days. */
+final class DateWindowOptions {
+
+    static final String FROM = "from";
+    static final String TO = "to";
+    static final String INVALID_DATE_MESSAGE =
+            "Please give dates as yyyy-MM-dd, for example 2024-04-30.";
+
+    /** Private constructor to prevent instantiation of the utility class. */
+    private DateWindowOptions() {}
+
+    /**
+     * Builds the "from" and "to" options.
+     *
+     * @return the options
+     */
+    static List<OptionData> build() {
+        return List.of(
+                new OptionData(
+                        OptionType.STRING, FROM, "First day of the events (yyyy-MM-dd)", false),
+                new OptionData(
+                        OptionType.STRING, TO, "Last day of the events (yyyy-MM-dd)", false));
+    }
+
+    /**
+     * Reads a date option.
+     *
+     * @param event the slash command event
+     * @param name the name of the option
+     * @return the date, or null if the option was not given
+     * @throws DateTimeParseException if the option is not a yyyy-MM-dd date
+     */
+    @Nullable
+    static LocalDate parse(@Nonnull SlashCommandInteractionEvent event, @Nonnull String name) {
+        OptionMapping option = event.getOption(name);
+        return option == null ? null : LocalDate.parse(option.getAsString().trim());
+    }
+}
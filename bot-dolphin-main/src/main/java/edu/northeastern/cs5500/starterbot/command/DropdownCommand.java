@@ -4,6 +4,7 @@ import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
@@ -13,6 +14,7 @@ import net.dv8tion.jda.api.interactions.components.selections.StringSelectMenu;
 
 @ExcludeFromJacocoGeneratedReport
 @Slf4j
+@Singleton
 public class DropdownCommand implements SlashCommandHandler, StringSelectHandler {
 
     static final String NAME = "dropdown";
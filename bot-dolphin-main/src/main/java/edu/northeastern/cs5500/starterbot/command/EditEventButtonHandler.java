@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
@@ -22,6 +23,7 @@ import net.dv8tion.jda.api.interactions.modals.Modal;
 
 /** This class represents the edit button for editing the event by event owner and its modal */
 @Slf4j
+@Singleton
 public class EditEventButtonHandler implements ButtonHandler {
     private static final String END_TIME_TEXT_FIELD_ID = "end_time";
 
@@ -31,7 +33,7 @@ public class EditEventButtonHandler implements ButtonHandler {
 
     private static final String TITLE_TEXT_FIELD_ID = "title";
 
-    static final String EDIT_EVENT_NAME = "edit_event";
+    public static final String EDIT_EVENT_NAME = "edit_event";
 
     @Inject StudyEventController studyEventController;
 
@@ -103,13 +105,6 @@ public class EditEventButtonHandler implements ButtonHandler {
 
     public void handleEditEventModalInteraction(
             @Nonnull ModalInteractionEvent event, @Nonnull String eventId) {
-        StudyEvent studyEvent = getStudyEventForUpdate(eventId, studyEventController);
-
-        if (studyEvent == null) {
-            replyEphemeral(event, "Event not found.");
-            return;
-        }
-
         Map<String, Object> updates = new HashMap<>();
 
         String title = event.getValue(TITLE_TEXT_FIELD_ID).getAsString();
@@ -117,11 +112,27 @@ public class EditEventButtonHandler implements ButtonHandler {
         String endTimeStr = event.getValue(END_TIME_TEXT_FIELD_ID).getAsString();
         String location = event.getValue(LOCATION_TEXT_FIELD_ID).getAsString();
 
+        // The stored times are only needed to validate a new start or end time; other edits are
+        // sent as a partial update without reading the event first.
+        Date existingStartDate = null;
+        Date existingEndDate = null;
+        if (isNonNullEmptyString(startTimeStr) || isNonNullEmptyString(endTimeStr)) {
+            StudyEvent studyEvent = getStudyEventForUpdate(eventId, studyEventController);
+
+            if (studyEvent == null) {
+                replyEphemeral(event, "Event not found.");
+                return;
+            }
+
+            existingStartDate = studyEvent.getStart();
+            existingEndDate = studyEvent.getEnd();
+        }
+
         if (!validateAndUpdateTitle(event, updates, title)
                 || !validateAndUpdateStartTime(
-                        event, updates, startTimeStr, endTimeStr, studyEvent.getEnd())
+                        event, updates, startTimeStr, endTimeStr, existingEndDate)
                 || !validateAndUpdateEndTime(
-                        event, updates, endTimeStr, startTimeStr, studyEvent.getStart())
+                        event, updates, endTimeStr, startTimeStr, existingStartDate)
                 || !validateAndUpdateLocation(event, updates, location)) {
             return;
         }
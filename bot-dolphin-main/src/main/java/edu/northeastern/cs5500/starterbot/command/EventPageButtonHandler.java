@@ -0,0 +1,178 @@
+package edu.northeastern.cs5500.starterbot.command;
+
+import com.google.common.annotations.VisibleForTesting;
+import edu.northeastern.cs5500.starterbot.controller.EventPage;
+import edu.northeastern.cs5500.starterbot.controller.EventPageCursor;
+import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.bson.types.ObjectId;
+
+/**
+ * Handler for the "Previous" and "Next" buttons sent after a page of events.
+ *
+ * <p>The button id carries everything needed to read the next page, so no state is kept between
+ * clicks: {@code events_page:<listing>:<next|prev>:<start>:<id>:<location>:<periods>:<from>:<to>},
+ * where the start time is in base 36 epoch milliseconds, the from and to days are in base 36 epoch
+ * days, and an unset option is "-".
+ */
+@Slf4j
+@Singleton
+public class EventPageButtonHandler implements ButtonHandler {
+
+    static final String NAME = "events_page";
+    static final String MY_EVENTS = "mine";
+    static final String PUBLIC_EVENTS = "public";
+    static final String PRIVATE_EVENTS = "private";
+    private static final String NEXT = "next";
+    private static final String PREVIOUS = "prev";
+    private static final String UNSET = "-";
+    private static final String SEPARATOR = ":";
+    private static final String NAVIGATION_MESSAGE = "Showing %d events.";
+    private static final String NO_MORE_EVENTS = "There are no more events to show.";
+
+    @Inject ListMyEventsCommand listMyEventsCommand;
+    @Inject ListUpcomingPublicEventsCommand listUpcomingPublicEventsCommand;
+    @Inject UpcomingPrivateEventsCommand upcomingPrivateEventsCommand;
+
+    @Inject
+    public EventPageButtonHandler() {
+        // Empty and public for Dagger
+    }
+
+    @Override
+    @Nonnull
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void onButtonInteraction(@Nonnull ButtonInteractionEvent event) {
+        log.info("event: events_page button");
+        String[] buttonInfo = event.getComponentId().split(SEPARATOR);
+        String listing = buttonInfo[1];
+        EventPageCursor cursor =
+                new EventPageCursor(
+                        new Date(Long.parseLong(buttonInfo[3], Character.MAX_RADIX)),
+                        new ObjectId(buttonInfo[4]),
+                        NEXT.equals(buttonInfo[2]));
+        StudyEventLocation location =
+                UNSET.equals(buttonInfo[5]) ? null : StudyEventLocation.valueOf(buttonInfo[5]);
+        String periods = UNSET.equals(buttonInfo[6]) ? null : buttonInfo[6];
+        LocalDate from = parseDay(buttonInfo[7]);
+        LocalDate to = parseDay(buttonInfo[8]);
+        String userId = event.getUser().getId();
+
+        boolean sent;
+        switch (listing) {
+            case MY_EVENTS:
+                sent =
+                        listMyEventsCommand.sendEventsPage(
+                                userId, location, periods, from, to, cursor);
+                break;
+            case PUBLIC_EVENTS:
+                sent =
+                        listUpcomingPublicEventsCommand.sendEventsPage(
+                                userId, location, periods, from, to, cursor);
+                break;
+            case PRIVATE_EVENTS:
+                sent = upcomingPrivateEventsCommand.sendEventsPage(userId, cursor);
+                break;
+            default:
+                throw new IllegalStateException("Unknown event listing: " + listing);
+        }
+
+        if (sent) {
+            // The buttons of a page that has been followed are removed, so they are not reused
+            event.editComponents().queue();
+        } else {
+            event.reply(NO_MORE_EVENTS).setEphemeral(true).queue();
+        }
+    }
+
+    /**
+     * Builds the message that follows a page of events, with buttons for its neighbouring pages.
+     *
+     * @param listing the listing the page belongs to
+     * @param page the page of events
+     * @param location the location option of the listing, or null
+     * @param periods the periods option of the listing, or null
+     * @param from the from option of the listing, or null
+     * @param to the to option of the listing, or null
+     * @return the message, or null if the page has no neighbours
+     */
+    @Nullable
+    static MessageCreateData createNavigationMessage(
+            @Nonnull String listing,
+            @Nonnull EventPage<?> page,
+            @Nullable StudyEventLocation location,
+            @Nullable String periods,
+            @Nullable LocalDate from,
+            @Nullable LocalDate to) {
+        List<Button> buttons = new ArrayList<>();
+        EventPageCursor previous = page.getPreviousCursor();
+        if (previous != null) {
+            buttons.add(
+                    Button.secondary(
+                            createButtonId(listing, previous, location, periods, from, to),
+                            "Previous"));
+        }
+        EventPageCursor next = page.getNextCursor();
+        if (next != null) {
+            buttons.add(
+                    Button.primary(
+                            createButtonId(listing, next, location, periods, from, to), "Next"));
+        }
+
+        if (buttons.isEmpty()) {
+            return null;
+        }
+        return new MessageCreateBuilder()
+                .setContent(String.format(NAVIGATION_MESSAGE, page.getEvents().size()))
+                .addActionRow(buttons)
+                .build();
+    }
+
+    @VisibleForTesting
+    static String createButtonId(
+            @Nonnull String listing,
+            @Nonnull EventPageCursor cursor,
+            @Nullable StudyEventLocation location,
+            @Nullable String periods,
+            @Nullable LocalDate from,
+            @Nullable LocalDate to) {
+        return String.join(
+                SEPARATOR,
+                NAME,
+                listing,
+                cursor.isForward() ? NEXT : PREVIOUS,
+                Long.toString(cursor.getStart().getTime(), Character.MAX_RADIX),
+                cursor.getId().toHexString(),
+                location == null ? UNSET : location.name(),
+                periods == null ? UNSET : periods,
+                formatDay(from),
+                formatDay(to));
+    }
+
+    private static String formatDay(@Nullable LocalDate day) {
+        return day == null ? UNSET : Long.toString(day.toEpochDay(), Character.MAX_RADIX);
+    }
+
+    @Nullable
+    private static LocalDate parseDay(@Nonnull String day) {
+        return UNSET.equals(day)
+                ? null
+                : LocalDate.ofEpochDay(Long.parseLong(day, Character.MAX_RADIX));
+    }
+}
@@ -1,15 +1,22 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import com.google.common.annotations.VisibleForTesting;
+import edu.northeastern.cs5500.starterbot.controller.EventFilter;
+import edu.northeastern.cs5500.starterbot.controller.EventPage;
+import edu.northeastern.cs5500.starterbot.controller.EventPageCursor;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
 import edu.northeastern.cs5500.starterbot.model.StudyEventType;
 import edu.northeastern.cs5500.starterbot.util.SendPrivateMessageUtil;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
@@ -25,6 +32,7 @@ import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 
 /** ListMyEventsCommand represents the list of upcoming events that user has created */
 @Slf4j
+@Singleton
 public class ListMyEventsCommand implements SlashCommandHandler {
 
     static final String NAME = "list-my-events";
@@ -56,7 +64,8 @@ public class ListMyEventsCommand implements SlashCommandHandler {
 
         return Commands.slash(getName(), "List all study group-events that I created")
                 .addOptions(periodOption)
-                .addOptions(locationOption);
+                .addOptions(locationOption)
+                .addOptions(DateWindowOptions.build());
     }
 
     public OptionData buildLocationOption() {
@@ -93,23 +102,72 @@ public class ListMyEventsCommand implements SlashCommandHandler {
                 event.getOption("periods") != null
                         ? Objects.requireNonNull(event.getOption("periods")).getAsString()
                         : null;
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = DateWindowOptions.parse(event, DateWindowOptions.FROM);
+            to = DateWindowOptions.parse(event, DateWindowOptions.TO);
+        } catch (DateTimeParseException e) {
+            event.reply(DateWindowOptions.INVALID_DATE_MESSAGE).setEphemeral(true).queue();
+            return;
+        }
 
-        // Retrieve all events created by the user that have not started yet
-        List<StudyEvent> userEvents =
-                studyEventController.getAllEventsForUser(userId, location, periods);
-
-        if (userEvents.isEmpty()) {
+        // Send the first page of events created by the user that have not started yet
+        if (!sendEventsPage(userId, location, periods, from, to, null)) {
             // If no events found, send a message indicating so
             event.reply(NO_EVENT_CREATED).setEphemeral(true).queue();
             return;
         }
 
-        for (StudyEvent userEvent : userEvents) {
+        event.reply(INITIAL_MESSAGE).setEphemeral(true).queue();
+    }
+
+    /**
+     * Sends one page of the user's upcoming events to their DM, followed by the page buttons.
+     *
+     * @param userId discord id of the user
+     * @param location location of the events, or null
+     * @param periods time frame of the events, or null
+     * @param from first day of the events, or null
+     * @param to last day of the events, or null
+     * @param cursor the position to read from, or null for the first page
+     * @return false if the page was empty
+     */
+    boolean sendEventsPage(
+            @Nonnull String userId,
+            @Nullable StudyEventLocation location,
+            @Nullable String periods,
+            @Nullable LocalDate from,
+            @Nullable LocalDate to,
+            @Nullable EventPageCursor cursor) {
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(userId)
+                        .location(location)
+                        .periods(periods)
+                        .from(from)
+                        .to(to)
+                        .build();
+        EventPage<StudyEvent> page =
+                studyEventController.getUpcomingEventsPage(
+                        filter, cursor, StudyEventController.EVENTS_PAGE_SIZE);
+
+        if (page.getEvents().isEmpty()) {
+            return false;
+        }
+
+        for (StudyEvent userEvent : page.getEvents()) {
             MessageCreateData messageCreateData = createMessageData(userEvent);
             SendPrivateMessageUtil.sendMessage(jda, userId, messageCreateData);
         }
 
-        event.reply(INITIAL_MESSAGE).setEphemeral(true).queue();
+        MessageCreateData navigation =
+                EventPageButtonHandler.createNavigationMessage(
+                        EventPageButtonHandler.MY_EVENTS, page, location, periods, from, to);
+        if (navigation != null) {
+            SendPrivateMessageUtil.sendMessage(jda, userId, navigation);
+        }
+        return true;
     }
 
     @VisibleForTesting
@@ -1,17 +1,22 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import com.google.common.annotations.VisibleForTesting;
+import edu.northeastern.cs5500.starterbot.controller.EventFilter;
+import edu.northeastern.cs5500.starterbot.controller.EventPage;
+import edu.northeastern.cs5500.starterbot.controller.EventPageCursor;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
+import edu.northeastern.cs5500.starterbot.model.EventSummary;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
 import edu.northeastern.cs5500.starterbot.model.StudyEventType;
 import edu.northeastern.cs5500.starterbot.util.SendPrivateMessageUtil;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -60,7 +65,8 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
         OptionData periodOption = buildPeriodOption();
         return Commands.slash(getName(), "List all upcoming public events")
                 .addOptions(periodOption)
-                .addOptions(locationOption);
+                .addOptions(locationOption)
+                .addOptions(DateWindowOptions.build());
     }
 
     public OptionData buildLocationOption() {
@@ -97,21 +103,20 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
                 event.getOption("periods") != null
                         ? Objects.requireNonNull(event.getOption("periods")).getAsString()
                         : null;
-
-        // Get the list of upcoming events from the MongoDB Client
-        List<StudyEvent> upcomingPublicEvents =
-                studyEventController.getAllUpcomingEvents(
-                        userId, location, periods, StudyEventType.PUBLIC_EVENT);
-
-        // Handle if the list is empty
-        if (upcomingPublicEvents.isEmpty()) {
-            event.reply("There are currently no upcoming events.").setEphemeral(true).queue();
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = DateWindowOptions.parse(event, DateWindowOptions.FROM);
+            to = DateWindowOptions.parse(event, DateWindowOptions.TO);
+        } catch (DateTimeParseException e) {
+            event.reply(DateWindowOptions.INVALID_DATE_MESSAGE).setEphemeral(true).queue();
             return;
         }
 
-        for (StudyEvent eventItem : upcomingPublicEvents) {
-            MessageCreateData messageCreateData = getMessageCreateData(eventItem, userId);
-            SendPrivateMessageUtil.sendMessage(jda, userId, messageCreateData);
+        // Send the first page of upcoming events from the MongoDB Client
+        if (!sendEventsPage(userId, location, periods, from, to, null)) {
+            event.reply("There are currently no upcoming events.").setEphemeral(true).queue();
+            return;
         }
 
         event.reply("To view the upcoming public events, please check your private channel!")
@@ -119,6 +124,55 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
                 .queue();
     }
 
+    /**
+     * Sends one page of upcoming public events to the user's DM, followed by the page buttons.
+     *
+     * @param userId the discord id of the user.
+     * @param location location of the events, or null.
+     * @param periods time frame of the events, or null.
+     * @param from first day of the events, or null.
+     * @param to last day of the events, or null.
+     * @param cursor the position to read from, or null for the first page.
+     * @return false if the page was empty.
+     */
+    boolean sendEventsPage(
+            @Nonnull String userId,
+            @Nullable StudyEventLocation location,
+            @Nullable String periods,
+            @Nullable LocalDate from,
+            @Nullable LocalDate to,
+            @Nullable EventPageCursor cursor) {
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(userId)
+                        .eventType(StudyEventType.PUBLIC_EVENT)
+                        .location(location)
+                        .periods(periods)
+                        .from(from)
+                        .to(to)
+                        .build();
+        EventPage<EventSummary> page =
+                studyEventController.getUpcomingEventSummariesPage(
+                        filter, cursor, StudyEventController.EVENTS_PAGE_SIZE, userId);
+
+        if (page.getEvents().isEmpty()) {
+            return false;
+        }
+
+        for (EventSummary eventItem : page.getEvents()) {
+            MessageCreateData messageCreateData = getMessageCreateData(eventItem);
+            SendPrivateMessageUtil.sendMessage(jda, userId, messageCreateData);
+        }
+
+        MessageCreateData navigation =
+                EventPageButtonHandler.createNavigationMessage(
+                        EventPageButtonHandler.PUBLIC_EVENTS, page, location, periods, from, to);
+        if (navigation != null) {
+            SendPrivateMessageUtil.sendMessage(jda, userId, navigation);
+        }
+        return true;
+    }
+
     /**
      * returns message embed along with RSVP/Un-Rsvp button.
      *
@@ -127,22 +181,25 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
      * @return instance of MessageCreateData.
      */
     MessageCreateData getMessageCreateData(@Nonnull StudyEvent studyEvent, @Nonnull String userId) {
-        MessageEmbed embed = createEventMessageEmbed(studyEvent, userId);
-        MessageCreateBuilder messageBuilder = new MessageCreateBuilder().addEmbeds(embed);
-        List<String> attendeeIds = studyEvent.getAttendeesList();
-
-        if (attendeeIds == null) {
-            attendeeIds = new ArrayList<>();
-        }
+        return getMessageCreateData(EventSummary.of(studyEvent, userId));
+    }
 
-        boolean isAlreadyRsvped = attendeeIds.contains(userId);
+    /**
+     * returns message embed along with RSVP/Un-Rsvp button.
+     *
+     * @param summary summary of the study event for the user.
+     * @return instance of MessageCreateData.
+     */
+    MessageCreateData getMessageCreateData(@Nonnull EventSummary summary) {
+        MessageEmbed embed = createEventMessageEmbed(summary);
+        MessageCreateBuilder messageBuilder = new MessageCreateBuilder().addEmbeds(embed);
 
-        if (isAlreadyRsvped) {
+        if (summary.isRsvped()) {
             messageBuilder.addActionRow(
-                    RSVPButtonHandler.createUnrsvpButton(studyEvent.getId().toString()));
+                    RSVPButtonHandler.createUnrsvpButton(summary.getId().toString()));
         } else {
             messageBuilder.addActionRow(
-                    RSVPButtonHandler.createRsvpButton(studyEvent.getId().toString()));
+                    RSVPButtonHandler.createRsvpButton(summary.getId().toString()));
         }
 
         return messageBuilder.build();
@@ -177,25 +234,29 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
 
     @VisibleForTesting
     int numberOfAvailableSeats(@Nonnull StudyEvent event) {
-        List<String> attendeeIds = event.getAttendeesList();
-
-        if (attendeeIds == null) {
-            attendeeIds = new ArrayList<>();
-        }
+        return Math.max(0, event.getMaxAttendees() - event.getAttendeeCount());
+    }
 
-        return Math.max(0, event.getMaxAttendees() - attendeeIds.size());
+    @VisibleForTesting
+    int numberOfAvailableSeats(@Nonnull EventSummary summary) {
+        return Math.max(0, summary.getMaxAttendees() - summary.getAttendeeCount());
     }
 
     @VisibleForTesting
     MessageEmbed createEventMessageEmbed(StudyEvent studyEvent, String userId) {
+        return createEventMessageEmbed(EventSummary.of(studyEvent, userId));
+    }
+
+    @VisibleForTesting
+    MessageEmbed createEventMessageEmbed(@Nonnull EventSummary summary) {
         EmbedBuilder embedBuilder = new EmbedBuilder();
-        embedBuilder.setTitle(studyEvent.getTitle());
-        String description = studyEvent.getDescription();
+        embedBuilder.setTitle(summary.getTitle());
+        String description = summary.getDescription();
         if (description != null) {
             embedBuilder.appendDescription(description);
         }
 
-        Date startDate = studyEvent.getStart();
+        Date startDate = summary.getStart();
         String formattedDate = getFormattedDate(startDate);
         Objects.requireNonNull(formattedDate);
         embedBuilder.addField("Date:", formattedDate, true);
@@ -204,25 +265,17 @@ public class ListUpcomingPublicEventsCommand implements SlashCommandHandler {
         Objects.requireNonNull(formattedTime);
         embedBuilder.addField("Start Time: ", formattedTime, true);
 
-        String location = studyEvent.getLocation().toString();
+        String location = summary.getLocation().toString();
         Objects.requireNonNull(location);
         embedBuilder.addField("Location: ", location, true);
 
-        int availableSeats = numberOfAvailableSeats(studyEvent);
+        int availableSeats = numberOfAvailableSeats(summary);
 
-        if (studyEvent.getMaxAttendees() != 0) {
+        if (summary.getMaxAttendees() != 0) {
             embedBuilder.addField("Available Seats: ", availableSeats + " seats remaining", true);
         }
 
-        List<String> attendeeIds = studyEvent.getAttendeesList();
-
-        if (attendeeIds == null) {
-            attendeeIds = new ArrayList<>();
-        }
-
-        boolean isAlreadyRsvped = attendeeIds.contains(userId);
-
-        if (isAlreadyRsvped) {
+        if (summary.isRsvped()) {
             embedBuilder.addField("RSVP Status:", "Already RSVP'D", false).setColor(0x00FF00);
         }
         return embedBuilder.build();
@@ -4,14 +4,19 @@ import com.google.common.annotations.VisibleForTesting;
 import com.mongodb.lang.Nullable;
 import edu.northeastern.cs5500.starterbot.controller.EventUserController;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
 import edu.northeastern.cs5500.starterbot.model.EventUser;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.util.SendPrivateMessageUtil;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.User;
@@ -27,6 +32,7 @@ import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 
 /** This class represents the Button and String select menu interactions. */
 @Slf4j
+@Singleton
 public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler {
 
     static final String CONFIRM_DELETE_YES = "yes";
@@ -98,9 +104,9 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
                         .queue();
                 break;
             case CONFIRM_DELETE_YES:
-                StudyEvent studyEvent = getEvent(eventId, studyEventController);
+                StudyEvent deletedEvent = deleteStudyEvent(eventId, studyEventController);
 
-                if (studyEvent == null) {
+                if (deletedEvent == null) {
                     log.info(
                             "event: On click of yes button while deleting an event. sent reply "
                                     + EVENT_NO_EXIST_MESSAGE);
@@ -108,13 +114,8 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
                     return;
                 }
 
-                String sendResponse = deleteStudyEvent(studyEvent, studyEventController);
-                Objects.requireNonNull(sendResponse);
-
-                if (sendResponse.startsWith(SUCCESS_DELETE_MESSAGE)) {
-                    deleteChannelForEvent(studyEvent);
-                }
-                event.reply(sendResponse).setEphemeral(true).queue();
+                deleteChannelForEvent(deletedEvent);
+                event.reply(SUCCESS_DELETE_MESSAGE).setEphemeral(true).queue();
                 break;
             case CONFIRM_DELETE_NO:
                 log.info("event: pressed no button from confirm delete button");
@@ -151,12 +152,23 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
         }
     }
 
+    /**
+     * Deletes an event that has not started yet, then tells its attendees that it is cancelled.
+     *
+     * @return the event as it was before it was deleted, or null if it was not deleted
+     */
     @VisibleForTesting
-    String deleteStudyEvent(
-            @Nonnull StudyEvent studyEvent, @Nonnull StudyEventController studyEventController) {
+    @Nullable
+    StudyEvent deleteStudyEvent(
+            @Nonnull String eventId, @Nonnull StudyEventController studyEventController) {
+        log.info("event: pressed yes button from confirm delete button");
+        StudyEvent deletedEvent = studyEventController.deleteUpcomingEvent(eventId);
 
-        List<String> attendeesIdList = getAttendees(studyEvent);
-        return deleteStudyEventHelper(studyEvent, studyEventController, attendeesIdList);
+        AttendeeSet attendees = deletedEvent == null ? null : deletedEvent.getAttendeesList();
+        if (attendees != null && !attendees.isEmpty()) {
+            sendNotificationToAttendees(attendees, deletedEvent.getTitle());
+        }
+        return deletedEvent;
     }
 
     @VisibleForTesting
@@ -177,47 +189,22 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
     }
 
     @VisibleForTesting
-    String deleteStudyEventHelper(
-            @Nonnull StudyEvent studyEvent,
-            @Nonnull StudyEventController studyEventController,
-            List<String> attendees) {
-        log.info("event: pressed yes button from confirm delete button");
-        boolean isDeleted = studyEventController.deleteEventById(studyEvent.getId());
-
-        if (isDeleted && attendees != null && !attendees.isEmpty()) {
-            sendNotificationToAttendees(attendees, studyEvent.getTitle());
-        }
-
-        return isDeleted ? SUCCESS_DELETE_MESSAGE : EVENT_NO_EXIST_MESSAGE;
-    }
-
-    @VisibleForTesting
-    List<String> getAttendees(@Nonnull StudyEvent studyEvent) {
-        return studyEvent.getAttendeesList();
-    }
-
-    @VisibleForTesting
-    void sendNotificationToAttendees(
-            @Nonnull List<String> attendeesIdList, @Nonnull String eventName) {
-        for (String attendee : attendeesIdList) {
-            long attendeeDiscordID;
-            try {
-                attendeeDiscordID = Long.parseLong(attendee);
-            } catch (Exception ex) {
-                log.error(
-                        "Attendee id " + attendee + " is incorrect in event " + eventName + " !",
-                        ex);
-                continue;
-            }
-
-            MessageCreateData messageCreateData =
-                    new MessageCreateBuilder()
-                            .addContent(
-                                    String.format(
-                                            EVENT_CANCELLED_MESSAGE, attendeeDiscordID, eventName))
-                            .build();
-            SendPrivateMessageUtil.sendMessage(jda, attendee, messageCreateData);
-        }
+    void sendNotificationToAttendees(@Nonnull AttendeeSet attendees, @Nonnull String eventName) {
+        attendees
+                .ids()
+                .forEach(
+                        attendeeDiscordID -> {
+                            MessageCreateData messageCreateData =
+                                    new MessageCreateBuilder()
+                                            .addContent(
+                                                    String.format(
+                                                            EVENT_CANCELLED_MESSAGE,
+                                                            attendeeDiscordID,
+                                                            eventName))
+                                            .build();
+                            SendPrivateMessageUtil.sendMessage(
+                                    jda, Long.toString(attendeeDiscordID), messageCreateData);
+                        });
     }
 
     @Override
@@ -292,19 +279,18 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
                 StringSelectMenu.create(INVITE_DROPDOWN)
                         .setPlaceholder("Select an user to send the invitation:");
 
-        List<EventUser> allUsers = getAllUsers(eventUserController);
-
-        try {
-            for (EventUser user : allUsers) {
-                String id = user.getDiscordId();
-                String userName = getNameByDiscordId(id);
-
-                if (userName != null) {
-                    menu.addOption(
-                            userName + " " + user.getEmail(), user.getDiscordId() + ":" + eventId);
-                } else {
-                    log.error("Failed to retrieve user name by id : " + id);
+        // Only as many users are looked up at a time as there are options left in the menu, and
+        // none once it is full, since a select menu holds at most 25 options
+        int options = 0;
+        try (Stream<EventUser> users = streamAllUsers(eventUserController)) {
+            Iterator<EventUser> remaining = users.iterator();
+            while (options < StringSelectMenu.OPTIONS_MAX_AMOUNT && remaining.hasNext()) {
+                List<EventUser> round = new ArrayList<>();
+                while (round.size() < StringSelectMenu.OPTIONS_MAX_AMOUNT - options
+                        && remaining.hasNext()) {
+                    round.add(remaining.next());
                 }
+                options += addEmailOptions(menu, round, eventId);
             }
 
             allOptions = menu.build();
@@ -316,14 +302,55 @@ public class MyEventButtonHandler implements ButtonHandler, StringSelectHandler
         return allOptions;
     }
 
+    /**
+     * Looks up the Discord names of some users together, and adds an option for each one found.
+     *
+     * @return the number of options added
+     */
+    private int addEmailOptions(
+            @Nonnull StringSelectMenu.Builder menu,
+            @Nonnull List<EventUser> users,
+            @Nonnull String eventId) {
+        // The names are requested together rather than one blocking round trip at a time
+        List<CompletableFuture<User>> discordUsers = new ArrayList<>(users.size());
+        for (EventUser user : users) {
+            try {
+                discordUsers.add(jda.retrieveUserById(user.getDiscordId()).submit());
+            } catch (IllegalArgumentException e) {
+                // Not a valid Discord id, so the user is left out like one Discord cannot find
+                discordUsers.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        int added = 0;
+        for (int i = 0; i < users.size(); i++) {
+            EventUser user = users.get(i);
+            String userName = getName(discordUsers.get(i));
+
+            if (userName != null) {
+                menu.addOption(
+                        userName + " " + user.getEmail(), user.getDiscordId() + ":" + eventId);
+                added++;
+            } else {
+                log.error("Failed to retrieve user name by id : " + user.getDiscordId());
+            }
+        }
+        return added;
+    }
+
     @VisibleForTesting
-    List<EventUser> getAllUsers(@Nonnull EventUserController eventUserController) {
-        return eventUserController.getAllUsers();
+    Stream<EventUser> streamAllUsers(@Nonnull EventUserController eventUserController) {
+        return eventUserController.streamAllUsers();
     }
 
     @Nullable
-    private String getNameByDiscordId(@Nonnull String discordId) {
-        User user = jda.retrieveUserById(discordId).complete();
-        return user != null ? user.getName() : null;
+    private static String getName(@Nonnull CompletableFuture<User> discordUser) {
+        try {
+            User user = discordUser.join();
+            return user != null ? user.getName() : null;
+        } catch (CompletionException e) {
+            log.warn("Unable to retrieve a Discord user", e.getCause());
+            return null;
+        }
     }
 }
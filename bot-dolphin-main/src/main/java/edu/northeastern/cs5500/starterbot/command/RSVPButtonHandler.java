@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
@@ -24,6 +25,7 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
  * @author ambikakabra
  */
 @Slf4j
+@Singleton
 public class RSVPButtonHandler implements ButtonHandler {
 
     private static final String CONFIRM_UNRSVP_QUESTION =
@@ -1,12 +1,18 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import com.google.common.annotations.VisibleForTesting;
+import edu.northeastern.cs5500.starterbot.controller.EventFilter;
+import edu.northeastern.cs5500.starterbot.controller.EventPage;
+import edu.northeastern.cs5500.starterbot.controller.EventPageCursor;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.EventSummary;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.model.StudyEventType;
 import edu.northeastern.cs5500.starterbot.util.SendPrivateMessageUtil;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -54,41 +60,58 @@ public class UpcomingPrivateEventsCommand implements SlashCommandHandler {
         log.info("event: /list-upcoming-private-events");
         String userId = event.getUser().getId();
 
-        List<StudyEvent> upcomingPrivateEvents =
-                getPrivateEventFromDatabase(userId, studyEventController);
-
-        if (upcomingPrivateEvents.isEmpty()) {
+        if (sendEventsPage(userId, null)) {
+            event.reply(INITIAL_SUCCESS_MESSAGE).setEphemeral(true).queue();
+        } else {
             event.reply(NO_PRIVATE_EVENT_MESSAGE).setEphemeral(true).queue();
-            return;
         }
+    }
 
-        boolean isAnyEventRSVPed = false;
-        for (StudyEvent studyEvent : upcomingPrivateEvents) {
-            if (!hasUserRSVPed(userId, studyEvent.getAttendeesList())) {
-                continue;
-            }
-
-            isAnyEventRSVPed = true;
+    /**
+     * Sends one page of the upcoming private events the user has RSVP'd to, followed by the page
+     * buttons.
+     *
+     * @param userId discord id of the user
+     * @param cursor the position to read from, or null for the first page
+     * @return false if the page was empty
+     */
+    boolean sendEventsPage(@Nonnull String userId, @Nullable EventPageCursor cursor) {
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(userId)
+                        .attendeeId(userId)
+                        .eventType(StudyEventType.PRIVATE_EVENT)
+                        .build();
+        EventPage<EventSummary> page =
+                studyEventController.getUpcomingEventSummariesPage(
+                        filter, cursor, StudyEventController.EVENTS_PAGE_SIZE, userId);
+
+        if (page.getEvents().isEmpty()) {
+            return false;
+        }
 
+        for (EventSummary summary : page.getEvents()) {
             MessageCreateData messageCreateData =
-                    new ListUpcomingPublicEventsCommand().getMessageCreateData(studyEvent, userId);
+                    new ListUpcomingPublicEventsCommand().getMessageCreateData(summary);
             SendPrivateMessageUtil.sendMessage(jda, userId, messageCreateData);
         }
 
-        if (isAnyEventRSVPed) {
-            event.reply(INITIAL_SUCCESS_MESSAGE).setEphemeral(true).queue();
-        } else {
-            event.reply(NO_PRIVATE_EVENT_MESSAGE).setEphemeral(true).queue();
+        MessageCreateData navigation =
+                EventPageButtonHandler.createNavigationMessage(
+                        EventPageButtonHandler.PRIVATE_EVENTS, page, null, null, null, null);
+        if (navigation != null) {
+            SendPrivateMessageUtil.sendMessage(jda, userId, navigation);
         }
+        return true;
     }
 
     @VisibleForTesting
-    boolean hasUserRSVPed(@Nonnull String userId, List<String> attendeesList) {
-        if (attendeesList == null || attendeesList.isEmpty()) {
+    boolean hasUserRSVPed(@Nonnull String userId, AttendeeSet attendees) {
+        if (attendees == null || attendees.isEmpty()) {
             return false;
         }
 
-        return attendeesList.contains(userId);
+        return attendees.containsUser(userId);
     }
 
     @VisibleForTesting
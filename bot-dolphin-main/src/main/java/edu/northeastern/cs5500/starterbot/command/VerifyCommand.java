@@ -7,6 +7,7 @@ import edu.northeastern.cs5500.starterbot.model.EventUserRole;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -22,6 +23,7 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
  * @akarsh033
  */
 @Slf4j
+@Singleton
 public class VerifyCommand implements SlashCommandHandler {
 
     @Inject EventUserController eventUserController;
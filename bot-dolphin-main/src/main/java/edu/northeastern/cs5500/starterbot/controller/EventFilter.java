@@ -0,0 +1,36 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
+import edu.northeastern.cs5500.starterbot.model.StudyEventType;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Value;
+
+/** The conditions of an event listing. Unset conditions match every upcoming event. */
+@Value
+@Builder
+public class EventFilter {
+    /** The discord id of the organizer */
+    String organizerId;
+
+    /** The discord id of a user who must have RSVP'd */
+    String attendeeId;
+
+    /** The type of the events */
+    StudyEventType eventType;
+
+    /** The location of the events */
+    StudyEventLocation location;
+
+    /** The time frame of the events, "this_week" or "this_month" */
+    String periods;
+
+    /** The first day the events may start on */
+    LocalDate from;
+
+    /** The last day the events may start on */
+    LocalDate to;
+
+    /** Whether to match only events that still have seats available */
+    boolean openSeatsOnly;
+}
@@ -0,0 +1,31 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * One page of an event listing, in start time order.
+ *
+ * @param <E> the type of the listed events, either the full event or a read model of it
+ */
+@Value
+public class EventPage<E> {
+    List<E> events;
+
+    /** The cursor for the preceding page, or null if this is the first page */
+    @Nullable EventPageCursor previousCursor;
+
+    /** The cursor for the following page, or null if this is the last page */
+    @Nullable EventPageCursor nextCursor;
+
+    /** @return true if no events come before this page */
+    public boolean isFirst() {
+        return previousCursor == null;
+    }
+
+    /** @return true if no events come after this page */
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,30 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import java.util.Date;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+/**
+ * A position in an event listing, ordered by start time and then id. A page read from a cursor
+ * holds the events strictly after it, or strictly before it when paging backwards.
+ */
+@Value
+public class EventPageCursor {
+    /** The start time of the event at the edge of the previous page */
+    Date start;
+
+    /** The id of the event at the edge of the previous page */
+    ObjectId id;
+
+    /** True to read the events after the cursor, false to read the events before it */
+    boolean forward;
+
+    public static EventPageCursor after(@Nonnull Date start, @Nonnull ObjectId id) {
+        return new EventPageCursor(start, id, true);
+    }
+
+    public static EventPageCursor before(@Nonnull Date start, @Nonnull ObjectId id) {
+        return new EventPageCursor(start, id, false);
+    }
+}
@@ -2,11 +2,13 @@ package edu.northeastern.cs5500.starterbot.controller;
 
 import edu.northeastern.cs5500.starterbot.model.EventUser;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.Projection;
+import edu.northeastern.cs5500.starterbot.repository.Query;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -26,6 +28,7 @@ public class EventUserController {
     static final String ERROR = "Something went wrong, please try again later.";
     static final int MIN_EMAIL_LENGTH = 20;
     @Inject OpenTelemetry openTelemetry;
+    private final VerifiedUserCache verifiedUsers = new VerifiedUserCache();
 
     /**
      * Constructs a new EventUserController
@@ -39,15 +42,59 @@ public class EventUserController {
     }
 
     /**
-     * Checks if a user with the given Discord username is present in the database.
+     * Checks if a user with the given Discord id is verified. The verified users are loaded into
+     * memory on the first check, so later checks do not read the database.
      *
-     * @param discordUserName The Discord username of the user.
+     * @param discordUserId The Discord id of the user.
      * @return true if the user exists (is verified), false otherwise.
      */
     public boolean isUserVerified(String discordUserId) {
-        // Iterate through all EventUser objects and check if any matches the discordUserId
-        return eventUserRepository.getAll().stream()
-                .anyMatch(user -> discordUserId.equals(user.getDiscordId()));
+        long snowflake;
+        try {
+            snowflake = Long.parseLong(discordUserId);
+        } catch (NumberFormatException e) {
+            // Not a snowflake, so it cannot be cached
+            return !eventUserRepository.find(byDiscordId(discordUserId).limit(1)).isEmpty();
+        }
+        loadVerifiedUsers();
+        return verifiedUsers.contains(snowflake);
+    }
+
+    /**
+     * Loads the Discord ids of all verified users into memory, reading only that field. Does
+     * nothing if they have been loaded already.
+     */
+    public void loadVerifiedUsers() {
+        if (verifiedUsers.isLoaded()) {
+            return;
+        }
+        synchronized (verifiedUsers) {
+            if (verifiedUsers.isLoaded()) {
+                return;
+            }
+            List<EventUser> users =
+                    eventUserRepository.find(
+                            Query.where(),
+                            Projection.<EventUser, EventUser>into(
+                                            EventUser.class, Function.identity())
+                                    .include(EventUser.DISCORD_ID_FIELD));
+            for (EventUser user : users) {
+                cacheVerifiedUser(user.getDiscordId());
+            }
+            verifiedUsers.markLoaded();
+            log.info("Loaded {} verified users", users.size());
+        }
+    }
+
+    private void cacheVerifiedUser(String discordUserId) {
+        if (discordUserId == null) {
+            return;
+        }
+        try {
+            verifiedUsers.add(Long.parseLong(discordUserId));
+        } catch (NumberFormatException e) {
+            log.warn("Discord id {} is not a snowflake and was not cached", discordUserId);
+        }
     }
 
     /**
@@ -65,39 +112,38 @@ public class EventUserController {
             return EMAIL_INVALID_MESSAGE;
         }
 
-        // Handle EventUser already verified case
-        Collection<EventUser> allEventUsers = this.eventUserRepository.getAll();
-        for (EventUser dbEventUser : allEventUsers) {
-            if (dbEventUser.getDiscordId() != null
-                    && dbEventUser.getDiscordId().equals(eventUser.getDiscordId())) {
+        // Add the new EventUser in one round trip; the unique index on the Discord id rejects an
+        // already verified user, even when the same user verifies twice at once
+        try {
+            if (!this.eventUserRepository.addIfAbsent(eventUser)) {
                 return USER_ALREADY_VERIFIED;
             }
-        }
-
-        // Handle new UserEvent Verification and adding to EventUser Table
-        try {
-            this.eventUserRepository.add(eventUser);
-        } catch (Error e) {
-            log.error("Something went wrong with the DB");
+            cacheVerifiedUser(eventUser.getDiscordId());
+        } catch (RuntimeException e) {
+            log.error("Something went wrong with the DB", e);
             return ERROR;
         }
 
         return WELCOME + eventUser.getName() + EMAIL_VERIFICATION_SUCCESS_MESSAGE;
     }
 
+    private Query<EventUser> byDiscordId(@Nonnull String discordUserId) {
+        return Query.<EventUser>where()
+                .eq(EventUser.DISCORD_ID_FIELD, EventUser::getDiscordId, discordUserId);
+    }
+
     private boolean validateEmail(@Nonnull String email) {
         return email.length() >= MIN_EMAIL_LENGTH
                 && email.toLowerCase().endsWith("@northeastern.edu");
     }
 
     /**
-     * gets all the users in EventUser from database
+     * Streams all the users in EventUser from the database, a batch at a time. The stream holds a
+     * database cursor, so callers must close it.
      *
-     * @return list of EventUser
+     * @return stream of EventUser
      */
-    public List<EventUser> getAllUsers() {
-        Collection<EventUser> allUsers = eventUserRepository.getAll();
-
-        return allUsers.stream().collect(Collectors.toList());
+    public Stream<EventUser> streamAllUsers() {
+        return eventUserRepository.stream(Query.where());
     }
 }
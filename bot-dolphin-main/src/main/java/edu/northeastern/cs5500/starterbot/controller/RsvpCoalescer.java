@@ -0,0 +1,119 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.service.DatabaseUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/**
+ * Groups the RSVPs and un-RSVPs made to the same event within a short window, so that a burst of
+ * clicks on one event's RSVP button is written as one batch rather than one update per click.
+ *
+ * <p>The first request to an event opens a batch and schedules it to be applied once the window
+ * has passed; requests to the same event arriving meanwhile join it. A batch is applied by a
+ * single call, which must complete the result of every request in it.
+ */
+@Slf4j
+class RsvpCoalescer {
+
+    /** A single request in a batch. */
+    @Value
+    static class Rsvp {
+        /** The Discord id of the user. */
+        long userId;
+
+        /** True to RSVP, false to un-RSVP. */
+        boolean attending;
+
+        /** The database usage of the interaction that made the request, if one is open. */
+        @Nullable DatabaseUsage databaseUsage;
+
+        /** Completed with the message for the user once the batch is applied. */
+        CompletableFuture<String> result = new CompletableFuture<>();
+    }
+
+    /** The requests collected for one event. Only changed inside {@link Map#compute}. */
+    private static final class Batch {
+        final Rsvp first;
+        final List<Rsvp> rsvps = new ArrayList<>();
+
+        Batch(@Nonnull Rsvp first) {
+            this.first = first;
+            rsvps.add(first);
+        }
+    }
+
+    private final Map<ObjectId, Batch> openBatches = new ConcurrentHashMap<>();
+    private final Executor delayedExecutor;
+    private final BiConsumer<ObjectId, List<Rsvp>> applyBatch;
+
+    /**
+     * @param windowMillis how long a batch stays open after its first request
+     * @param executor runs the batches once their window has passed
+     * @param applyBatch applies the requests of a batch, in the order they arrived, to an event
+     */
+    RsvpCoalescer(
+            long windowMillis,
+            @Nonnull Executor executor,
+            @Nonnull BiConsumer<ObjectId, List<Rsvp>> applyBatch) {
+        this.delayedExecutor =
+                CompletableFuture.delayedExecutor(windowMillis, TimeUnit.MILLISECONDS, executor);
+        this.applyBatch = applyBatch;
+    }
+
+    /**
+     * Adds a request to the open batch of an event, opening one if there is none.
+     *
+     * @param eventId the id of the event
+     * @param userId the Discord id of the user
+     * @param attending true to RSVP, false to un-RSVP
+     * @return a future of the message for the user
+     */
+    CompletableFuture<String> submit(@Nonnull ObjectId eventId, long userId, boolean attending) {
+        Rsvp rsvp = new Rsvp(userId, attending, DatabaseUsage.current());
+        Batch batch =
+                openBatches.compute(
+                        eventId,
+                        (id, open) -> {
+                            if (open == null) {
+                                return new Batch(rsvp);
+                            }
+                            open.rsvps.add(rsvp);
+                            return open;
+                        });
+        if (batch.first == rsvp) {
+            delayedExecutor.execute(() -> apply(eventId, batch));
+        }
+        return rsvp.getResult();
+    }
+
+    private void apply(@Nonnull ObjectId eventId, @Nonnull Batch batch) {
+        // Closes the batch, so later requests open a new one
+        openBatches.remove(eventId, batch);
+        // Each interaction waits for the whole batch, so each one is charged for all of it
+        List<DatabaseUsage> usages = new ArrayList<>();
+        for (Rsvp rsvp : batch.rsvps) {
+            if (rsvp.getDatabaseUsage() != null) {
+                usages.add(rsvp.getDatabaseUsage());
+            }
+        }
+        try {
+            DatabaseUsage.runOnBehalfOf(usages, () -> applyBatch.accept(eventId, batch.rsvps));
+        } catch (RuntimeException e) {
+            log.error("Unable to apply {} RSVPs to event {}", batch.rsvps.size(), eventId, e);
+            for (Rsvp rsvp : batch.rsvps) {
+                rsvp.getResult().completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package edu.northeastern.cs5500.starterbot.controller;
 
+import static edu.northeastern.cs5500.starterbot.util.EnvironmentUtil.intFromEnvironment;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.EventSummary;
+import edu.northeastern.cs5500.starterbot.model.Model;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
 import edu.northeastern.cs5500.starterbot.model.StudyEventType;
+import edu.northeastern.cs5500.starterbot.repository.AttendanceStore;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.Projection;
+import edu.northeastern.cs5500.starterbot.repository.Query;
+import edu.northeastern.cs5500.starterbot.repository.RepositoryModule;
+import edu.northeastern.cs5500.starterbot.repository.UnitOfWork;
+import edu.northeastern.cs5500.starterbot.repository.Update;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
 import java.time.DayOfWeek;
@@ -11,12 +23,19 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -33,10 +52,23 @@ public class StudyEventController {
     public static final String SUCCESS_RSVP_MESSAGE = "You have successfully RSVP'd to the ";
     public static final String ALREADY_RSVP_MESSAGE = "You have already RSVP'd to the ";
     public static final String EVENT_STRING = " event.";
+    public static final String EVENT_NO_LONGER_EXISTS_MESSAGE = "This event no longer exists.";
+    public static final int EVENTS_PAGE_SIZE = 5;
+    static final int DEFAULT_RSVP_WINDOW_MILLIS = 0;
 
     GenericRepository<StudyEvent> studyEventRepository;
     @Inject OpenTelemetry openTelemetry;
 
+    /** Holds the RSVPs instead of the events' attendee arrays, or null if they are in the events */
+    @Inject @Nullable AttendanceStore attendanceStore;
+
+    @Inject
+    @Named(RepositoryModule.RSVP_WRITER_EXECUTOR)
+    Executor rsvpWriterExecutor;
+
+    /** Batches concurrent RSVPs to the same event, or null to write each one on its own */
+    @Nullable RsvpCoalescer rsvpCoalescer;
+
     /**
      * Constructs a new StudyEventController
      *
@@ -45,70 +77,421 @@ public class StudyEventController {
     @Inject
     StudyEventController(GenericRepository<StudyEvent> studyEventRepository) {
         this.studyEventRepository = studyEventRepository;
+        // Writes coalesced RSVPs on the caller's thread until Dagger injects the real executor
+        rsvpWriterExecutor = MoreExecutors.directExecutor();
         openTelemetry = new FakeOpenTelemetryService();
     }
 
+    /**
+     * Starts batching RSVPs once the executor is injected, if RSVP_WINDOW_MILLIS sets a batching
+     * window. Batching is off by default: it only pays off when one event gets bursts of RSVPs,
+     * and otherwise every RSVP waits out the window and hops threads for nothing.
+     */
+    @Inject
+    void startRsvpCoalescing() {
+        int windowMillis = intFromEnvironment("RSVP_WINDOW_MILLIS", DEFAULT_RSVP_WINDOW_MILLIS);
+        if (windowMillis > 0) {
+            rsvpCoalescer = new RsvpCoalescer(windowMillis, rsvpWriterExecutor, this::applyRsvps);
+        }
+    }
+
     /**
      * Adds an attendee to a study event.
      *
+     * <p>The membership and capacity checks are part of the update's filter, so the RSVP is a
+     * single atomic round trip and concurrent RSVPs cannot overbook the event. The event is only
+     * read back when the RSVP is rejected, to tell the user why.
+     *
      * @param userId The ID of the user to be added as an attendee.
      * @param eventId The ID of the event to which the attendee is being added.
      * @return A message indicating the result of the operation.
      */
     public String addAttendee(String userId, String eventId) {
-        if (isInvalidString(eventId) || isInvalidString(userId)) {
+        ObjectId eventObjectId = getAttendanceEventId(userId, eventId);
+        if (eventObjectId == null) {
             return GENERIC_ERROR;
         }
-
-        StudyEvent event = getEventById(eventId);
-        List<String> attendeesList = event.getAttendeesList();
-
-        if (attendeesList == null) {
-            attendeesList = new ArrayList<>();
+        if (attendanceStore != null) {
+            return addAttendeeToStore(eventObjectId, AttendeeSet.parseId(userId));
+        }
+        if (rsvpCoalescer != null) {
+            return awaitCoalescedRsvp(rsvpCoalescer, eventObjectId, userId, true);
         }
+        return addAttendeeToEvent(eventObjectId, userId);
+    }
 
-        if (attendeesList.contains(userId)) {
-            return ALREADY_RSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+    /** Waits for an RSVP made through the coalescer, which writes it on another thread. */
+    private static String awaitCoalescedRsvp(
+            @Nonnull RsvpCoalescer coalescer,
+            @Nonnull ObjectId eventId,
+            @Nonnull String userId,
+            boolean attending) {
+        try {
+            return coalescer.submit(eventId, AttendeeSet.parseId(userId), attending).join();
+        } finally {
+            UnitOfWork.evict(eventId);
         }
+    }
 
-        if (event.getMaxAttendees() == 0 || attendeesList.size() < event.getMaxAttendees()) {
-            attendeesList.add(userId);
-            event.setAttendeesList(attendeesList);
-            studyEventRepository.update(event);
+    private String addAttendeeToEvent(@Nonnull ObjectId eventId, @Nonnull String userId) {
+        StudyEvent event =
+                studyEventRepository.findOneAndUpdate(
+                        hasOpenSeatQuery(eventId, userId), addAttendeeUpdate(userId));
+        if (event != null) {
             return SUCCESS_RSVP_MESSAGE + event.getTitle() + EVENT_STRING;
         }
 
-        return event.getTitle() + RSVP_FULL_CAPACITY_MESSAGE;
+        return rsvpRejectedMessage(studyEventRepository.get(eventId), userId);
     }
 
     /**
-     * Removes an attendee from a study event.
+     * Removes an attendee from a study event in a single atomic round trip.
      *
      * @param userId The ID of the user to be removed as an attendee.
      * @param eventId The ID of the event from which the attendee is being removed.
      * @return A message indicating the result of the operation.
      */
     public String removeAttendee(String userId, String eventId) {
+        ObjectId eventObjectId = getAttendanceEventId(userId, eventId);
+        if (eventObjectId == null) {
+            return GENERIC_ERROR;
+        }
+        if (attendanceStore != null) {
+            return removeAttendeeFromStore(eventObjectId, AttendeeSet.parseId(userId));
+        }
+        if (rsvpCoalescer != null) {
+            return awaitCoalescedRsvp(rsvpCoalescer, eventObjectId, userId, false);
+        }
+        return removeAttendeeFromEvent(eventObjectId, userId);
+    }
+
+    private String removeAttendeeFromEvent(@Nonnull ObjectId eventId, @Nonnull String userId) {
+        StudyEvent event =
+                studyEventRepository.findOneAndUpdate(
+                        isAttendingQuery(eventId, userId), removeAttendeeUpdate(userId));
+        if (event != null) {
+            return SUCCESS_UNRSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+        }
+
+        return unrsvpRejectedMessage(studyEventRepository.get(eventId));
+    }
+
+    /** @return the id of the event, or null if either argument is invalid */
+    private ObjectId getAttendanceEventId(String userId, String eventId) {
         if (isInvalidString(eventId) || isInvalidString(userId)) {
+            return null;
+        }
+        try {
+            AttendeeSet.parseId(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return getEventObjectId(eventId);
+    }
+
+    private Query<StudyEvent> hasOpenSeatQuery(@Nonnull ObjectId eventId, @Nonnull String userId) {
+        return withOpenSeat(
+                Query.<StudyEvent>byId(eventId)
+                        .notContains(
+                                StudyEvent.ATTENDEES_FIELD,
+                                StudyEvent::getAttendeesList,
+                                AttendeeSet.parseId(userId)));
+    }
+
+    /**
+     * Restricts a query to events with no attendee limit or with fewer attendees than the limit.
+     * It compares the maintained attendee count, so the database never has to read the attendees.
+     */
+    private static Query<StudyEvent> withOpenSeat(@Nonnull Query<StudyEvent> query) {
+        return query.or(
+                Query.<StudyEvent>where()
+                        .eq(StudyEvent.MAX_ATTENDEES_FIELD, StudyEvent::getMaxAttendees, 0),
+                Query.<StudyEvent>where()
+                        .lessThanField(
+                                StudyEvent.ATTENDEE_COUNT_FIELD,
+                                StudyEvent::getAttendeeCount,
+                                StudyEvent.MAX_ATTENDEES_FIELD,
+                                StudyEvent::getMaxAttendees));
+    }
+
+    private Query<StudyEvent> isAttendingQuery(@Nonnull ObjectId eventId, @Nonnull String userId) {
+        return Query.<StudyEvent>byId(eventId)
+                .contains(
+                        StudyEvent.ATTENDEES_FIELD,
+                        StudyEvent::getAttendeesList,
+                        AttendeeSet.parseId(userId));
+    }
+
+    private Update<StudyEvent> addAttendeeUpdate(@Nonnull String userId) {
+        return attendeeCountUpdate(1)
+                .addToSet(
+                        StudyEvent.ATTENDEES_FIELD,
+                        StudyEvent::getAttendeesList,
+                        StudyEvent::setAttendeesList,
+                        AttendeeSet.parseId(userId),
+                        AttendeeSet::withAttendee);
+    }
+
+    private Update<StudyEvent> removeAttendeeUpdate(@Nonnull String userId) {
+        return attendeeCountUpdate(-1)
+                .pull(
+                        StudyEvent.ATTENDEES_FIELD,
+                        StudyEvent::getAttendeesList,
+                        StudyEvent::setAttendeesList,
+                        AttendeeSet.parseId(userId),
+                        AttendeeSet::withoutAttendee);
+    }
+
+    /**
+     * Applies a batch of RSVPs and un-RSVPs to one event and completes each with its own message.
+     * They are decided in the order they arrived against the event as it was read, then written as
+     * one $pull of the users who left and one $addToSet of the users who joined. Each write is
+     * guarded by the attendee count and the membership it was decided on; if the event changed in
+     * between, the affected requests are applied one by one instead.
+     *
+     * @param eventId the id of the event
+     * @param rsvps the requests, in the order they arrived
+     */
+    void applyRsvps(@Nonnull ObjectId eventId, @Nonnull List<RsvpCoalescer.Rsvp> rsvps) {
+        if (rsvps.size() == 1) {
+            rsvps.get(0).getResult().complete(applyRsvp(eventId, rsvps.get(0)));
+            return;
+        }
+        StudyEvent event = studyEventRepository.get(eventId);
+        if (event == null) {
+            // The one case that fails every request in the batch: the event is gone
+            rsvps.forEach(rsvp -> rsvp.getResult().complete(GENERIC_ERROR));
+            return;
+        }
+
+        AttendeeSet before = getAttendees(event);
+        AttendeeSet after = before;
+        int count = event.getAttendeeCount();
+        String[] messages = new String[rsvps.size()];
+        boolean[] joined = new boolean[rsvps.size()];
+        for (int i = 0; i < rsvps.size(); i++) {
+            long userId = rsvps.get(i).getUserId();
+            if (rsvps.get(i).isAttending()) {
+                if (after.contains(userId)) {
+                    messages[i] = rsvpRejectedMessage(event, true);
+                } else if (event.getMaxAttendees() != 0 && count >= event.getMaxAttendees()) {
+                    messages[i] = rsvpRejectedMessage(event, false);
+                } else {
+                    after = after.with(userId);
+                    count++;
+                    joined[i] = true;
+                    messages[i] = SUCCESS_RSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+                }
+            } else if (after.contains(userId)) {
+                after = after.without(userId);
+                count--;
+                messages[i] = SUCCESS_UNRSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+            } else {
+                messages[i] = unrsvpRejectedMessage(event);
+            }
+        }
+
+        List<Long> leaving = difference(before, after);
+        List<Long> joining = difference(after, before);
+        int countBefore = event.getAttendeeCount();
+        if (!leaving.isEmpty() && !pullAttendees(eventId, countBefore, leaving)) {
+            // Nothing was written, so every request is applied on its own
+            for (RsvpCoalescer.Rsvp rsvp : rsvps) {
+                rsvp.getResult().complete(applyRsvpOnItsOwn(eventId, rsvp));
+            }
+            return;
+        }
+        if (!joining.isEmpty() && !addAttendees(eventId, countBefore - leaving.size(), joining)) {
+            // The users who left were written; the last accepted RSVP of each joining user is
+            // applied on its own
+            Set<Long> retried = new HashSet<>();
+            for (int i = rsvps.size() - 1; i >= 0; i--) {
+                long userId = rsvps.get(i).getUserId();
+                if (joined[i] && joining.contains(userId) && retried.add(userId)) {
+                    messages[i] = applyRsvpOnItsOwn(eventId, rsvps.get(i));
+                }
+            }
+        }
+        for (int i = 0; i < rsvps.size(); i++) {
+            rsvps.get(i).getResult().complete(messages[i]);
+        }
+    }
+
+    /** Applies a request taken out of its batch, so that if it fails the others still complete. */
+    private String applyRsvpOnItsOwn(@Nonnull ObjectId eventId, @Nonnull RsvpCoalescer.Rsvp rsvp) {
+        try {
+            return applyRsvp(eventId, rsvp);
+        } catch (RuntimeException e) {
+            log.error("Unable to apply an RSVP to event {}", eventId, e);
             return GENERIC_ERROR;
         }
+    }
+
+    private String applyRsvp(@Nonnull ObjectId eventId, @Nonnull RsvpCoalescer.Rsvp rsvp) {
+        String userId = Long.toString(rsvp.getUserId());
+        return rsvp.isAttending()
+                ? addAttendeeToEvent(eventId, userId)
+                : removeAttendeeFromEvent(eventId, userId);
+    }
+
+    /** @return the ids in the first set that are not in the second */
+    private static List<Long> difference(@Nonnull AttendeeSet first, @Nonnull AttendeeSet second) {
+        return first.ids().filter(id -> !second.contains(id)).boxed().collect(Collectors.toList());
+    }
+
+    /** @return false if the event no longer has the attendee count or one of the attendees */
+    private boolean pullAttendees(
+            @Nonnull ObjectId eventId, int attendeeCount, @Nonnull List<Long> userIds) {
+        return studyEventRepository.findOneAndUpdate(
+                        unchangedQuery(eventId, attendeeCount, userIds, true),
+                        attendeeCountUpdate(-userIds.size())
+                                .pullAll(
+                                        StudyEvent.ATTENDEES_FIELD,
+                                        StudyEvent::getAttendeesList,
+                                        StudyEvent::setAttendeesList,
+                                        userIds,
+                                        AttendeeSet::withoutAttendees))
+                != null;
+    }
+
+    /** @return false if the event no longer has the attendee count or one user now attends */
+    private boolean addAttendees(
+            @Nonnull ObjectId eventId, int attendeeCount, @Nonnull List<Long> userIds) {
+        return studyEventRepository.findOneAndUpdate(
+                        unchangedQuery(eventId, attendeeCount, userIds, false),
+                        attendeeCountUpdate(userIds.size())
+                                .addEachToSet(
+                                        StudyEvent.ATTENDEES_FIELD,
+                                        StudyEvent::getAttendeesList,
+                                        StudyEvent::setAttendeesList,
+                                        userIds,
+                                        AttendeeSet::withAttendees))
+                != null;
+    }
+
+    /**
+     * Matches the event only if it still has the attendee count a batch was decided on, and the
+     * users it changes are still attending or still not attending.
+     */
+    private static Query<StudyEvent> unchangedQuery(
+            @Nonnull ObjectId eventId,
+            int attendeeCount,
+            @Nonnull List<Long> userIds,
+            boolean attending) {
+        Query<StudyEvent> query =
+                Query.<StudyEvent>byId(eventId)
+                        .eq(
+                                StudyEvent.ATTENDEE_COUNT_FIELD,
+                                StudyEvent::getAttendeeCount,
+                                attendeeCount);
+        for (long userId : userIds) {
+            if (attending) {
+                query.contains(
+                        StudyEvent.ATTENDEES_FIELD, StudyEvent::getAttendeesList, userId);
+            } else {
+                query.notContains(
+                        StudyEvent.ATTENDEES_FIELD, StudyEvent::getAttendeesList, userId);
+            }
+        }
+        return query;
+    }
 
-        StudyEvent event = getEventById(eventId);
-        List<String> attendeesList = event.getAttendeesList();
+    /**
+     * Adds an RSVP to the attendance store, then takes a seat by raising the event's attendee
+     * count while it is below capacity. A repeated RSVP is rejected by the store without touching
+     * the event, and an RSVP to a full event is taken back out of the store.
+     */
+    private String addAttendeeToStore(@Nonnull ObjectId eventId, long userId) {
+        if (!attendanceStore.add(eventId, userId)) {
+            return rsvpRejectedMessage(studyEventRepository.get(eventId), true);
+        }
 
-        if (attendeesList == null) {
-            attendeesList = new ArrayList<>();
+        StudyEvent event =
+                studyEventRepository.findOneAndUpdate(
+                        withOpenSeat(Query.byId(eventId)), attendeeCountUpdate(1));
+        if (event != null) {
+            return SUCCESS_RSVP_MESSAGE + event.getTitle() + EVENT_STRING;
         }
 
-        if (attendeesList.remove(userId)) {
-            event.setAttendeesList(attendeesList);
-            studyEventRepository.update(event);
-            return SUCCESS_UNRSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+        attendanceStore.remove(eventId, userId);
+        return rsvpRejectedMessage(studyEventRepository.get(eventId), false);
+    }
+
+    /**
+     * Removes an RSVP from the attendance store, then gives its seat back. If the seat cannot be
+     * given back, the RSVP is put back in the store so that the two stay in step.
+     */
+    private String removeAttendeeFromStore(@Nonnull ObjectId eventId, long userId) {
+        if (!attendanceStore.remove(eventId, userId)) {
+            return unrsvpRejectedMessage(studyEventRepository.get(eventId));
+        }
+
+        StudyEvent event;
+        try {
+            event = studyEventRepository.patch(eventId, attendeeCountUpdate(-1));
+        } catch (RuntimeException e) {
+            log.error("Unable to give back a seat of event {}", eventId, e);
+            // If this fails as well, the recount AttendanceMigration runs at startup repairs it
+            attendanceStore.add(eventId, userId);
+            return GENERIC_ERROR;
+        }
+        if (event == null) {
+            // The event was deleted in between, and its RSVP is gone all the same
+            return EVENT_NO_LONGER_EXISTS_MESSAGE;
+        }
+        return SUCCESS_UNRSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+    }
+
+    private Update<StudyEvent> attendeeCountUpdate(int delta) {
+        return Update.<StudyEvent>of()
+                .inc(
+                        StudyEvent.ATTENDEE_COUNT_FIELD,
+                        StudyEvent::getAttendeeCount,
+                        StudyEvent::setAttendeeCount,
+                        delta);
+    }
+
+    /** Explains why an RSVP matched no event, given the event as it is now. */
+    private String rsvpRejectedMessage(@Nullable StudyEvent event, @Nonnull String userId) {
+        AttendeeSet attendees = event == null ? null : event.getAttendeesList();
+        return rsvpRejectedMessage(event, attendees != null && attendees.containsUser(userId));
+    }
+
+    private String rsvpRejectedMessage(@Nullable StudyEvent event, boolean alreadyAttending) {
+        if (event == null) {
+            return GENERIC_ERROR;
+        }
+
+        if (alreadyAttending) {
+            return ALREADY_RSVP_MESSAGE + event.getTitle() + EVENT_STRING;
+        }
+
+        return event.getTitle() + RSVP_FULL_CAPACITY_MESSAGE;
+    }
+
+    /** Explains why an un-RSVP matched no event, given the event as it is now. */
+    private String unrsvpRejectedMessage(@Nullable StudyEvent event) {
+        if (event == null) {
+            return GENERIC_ERROR;
         }
 
         return ALREADY_UNRSVP_MESSAGE + event.getTitle() + EVENT_STRING;
     }
 
+    /**
+     * Reads the attendees of an event, from the attendance store when it is used.
+     *
+     * @param event the study event
+     * @return the Discord ids of its attendees
+     */
+    public AttendeeSet getAttendees(@Nonnull StudyEvent event) {
+        if (attendanceStore != null) {
+            return attendanceStore.attendees(event.getId());
+        }
+        AttendeeSet attendees = event.getAttendeesList();
+        return attendees == null ? AttendeeSet.of() : attendees;
+    }
+
     /**
      * Checks if an event has already started based on the provided event ID.
      *
@@ -116,9 +499,10 @@ public class StudyEventController {
      * @return true if the event has started, false otherwise
      */
     public boolean isEventStarted(@Nonnull String eventId) {
+        return hasStarted(getEventById(eventId));
+    }
 
-        StudyEvent event = getEventById(eventId);
-
+    private boolean hasStarted(@Nullable StudyEvent event) {
         if (event == null) {
             return false;
         }
@@ -144,23 +528,41 @@ public class StudyEventController {
      * @return true if the event is deleted, false incase of event already started or not exists.
      */
     public boolean deleteEventById(@Nonnull ObjectId eventId) {
+        return deleteUpcomingEvent(eventId) != null;
+    }
 
-        if (isEventStarted(eventId.toString())) {
-            return false;
-        }
+    /**
+     * Deletes an event that has not started yet. The start check is part of the delete's filter,
+     * so the event is checked, deleted and returned in a single round trip.
+     *
+     * @param eventId the ID of the event
+     * @return the event as it was before it was deleted, with its attendees, or null if it has
+     *     started, does not exist or could not be deleted
+     */
+    @Nullable
+    public StudyEvent deleteUpcomingEvent(@Nonnull String eventId) {
+        ObjectId eventObjectId = getEventObjectId(eventId);
+        return eventObjectId == null ? null : deleteUpcomingEvent(eventObjectId);
+    }
 
-        StudyEvent event = studyEventRepository.get(eventId);
-        if (event != null) {
-            try {
-                studyEventRepository.delete(eventId);
-            } catch (Exception ex) {
-                log.error("Unable to delete an event with id: " + eventId.toString(), ex);
-                return false;
-            }
-            return true;
+    @Nullable
+    private StudyEvent deleteUpcomingEvent(@Nonnull ObjectId eventId) {
+        StudyEvent event;
+        try {
+            event =
+                    studyEventRepository.findOneAndDelete(
+                            Query.<StudyEvent>byId(eventId)
+                                    .gt(StudyEvent.START_FIELD, StudyEvent::getStart, new Date()));
+        } catch (Exception ex) {
+            log.error("Unable to delete an event with id: " + eventId.toString(), ex);
+            return null;
         }
-
-        return false;
+        if (event != null && attendanceStore != null) {
+            // The attendees are read before their RSVPs go, so they can still be notified
+            event.setAttendeesList(attendanceStore.attendees(eventId));
+            attendanceStore.removeAll(eventId);
+        }
+        return event;
     }
 
     /**
@@ -209,23 +611,18 @@ public class StudyEventController {
             StudyEventLocation location,
             String periods,
             StudyEventType eventType) {
-        Collection<StudyEvent> allUpcomingPublicEvents = studyEventRepository.getAll();
-
-        List<StudyEvent> upcomingPublicEvents =
-                allUpcomingPublicEvents.stream()
-                        .filter(event -> event.getOrganizer().equals(discordMemberId))
-                        .filter(event -> event.getEventType().equals(eventType))
-                        .filter(event -> event.getStart().after(new Date()))
-                        .collect(Collectors.toList());
-
-        upcomingPublicEvents = filterEventsByLocation(upcomingPublicEvents, location);
-        upcomingPublicEvents = filterEventsByPeriod(upcomingPublicEvents, periods);
-
-        // Sort user events based on start date and time
-        upcomingPublicEvents.sort(
-                (event1, event2) -> event1.getStart().compareTo(event2.getStart()));
-
-        return upcomingPublicEvents;
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(discordMemberId)
+                        .eventType(eventType)
+                        .location(location)
+                        .periods(periods)
+                        .build();
+
+        return new ArrayList<>(
+                studyEventRepository.find(
+                        upcomingEventsQuery(filter)
+                                .sortAscending(StudyEvent.START_FIELD, StudyEvent::getStart)));
     }
 
     /**
@@ -238,78 +635,222 @@ public class StudyEventController {
      */
     public List<StudyEvent> getAllEventsForUser(
             String discordMemberId, StudyEventLocation location, String periods) {
-        Collection<StudyEvent> allUserEvents = studyEventRepository.getAll();
-
-        // Filter user preferences for the user that have not started yet
-        List<StudyEvent> userEvents =
-                allUserEvents.stream()
-                        .filter(
-                                pref ->
-                                        pref.getOrganizer()
-                                                .equals(discordMemberId)) // Filter by user ID
-                        .filter(pref -> pref.getStart().after(new Date()))
-                        // Filter events that have
-                        // not
-                        // started yet
-                        .collect(Collectors.toList());
-
-        // Filter events by location if provided
-        userEvents = filterEventsByLocation(userEvents, location);
-        userEvents = filterEventsByPeriod(userEvents, periods);
-
-        // Sort user events based on start date and time
-        userEvents.sort((event1, event2) -> event1.getStart().compareTo(event2.getStart()));
+        return getAllUpcomingEvents(discordMemberId, location, periods, null);
+    }
 
-        return userEvents;
+    /**
+     * Reads one page of upcoming events, ordered by start time and then id. Each page is a single
+     * query that seeks past the cursor and reads at most one event more than the page size.
+     *
+     * @param filter the conditions of the listing
+     * @param cursor the position to read from, or null for the first page
+     * @param pageSize the maximum number of events on the page
+     * @return the page of events
+     */
+    public EventPage<StudyEvent> getUpcomingEventsPage(
+            @Nonnull EventFilter filter, @Nullable EventPageCursor cursor, int pageSize) {
+        return toPage(
+                studyEventRepository.find(pageQuery(filter, cursor, pageSize)),
+                cursor,
+                pageSize,
+                StudyEvent::getStart,
+                StudyEvent::getId);
     }
 
-    //
     /**
-     * Helper method to filter events by location
+     * Reads one page of upcoming events like {@link #getUpcomingEventsPage}, but only the summary
+     * of each event is read from the database.
      *
-     * @param events events list
-     * @param location location of the event
-     * @return events after filtering
+     * @param filter the conditions of the listing
+     * @param cursor the position to read from, or null for the first page
+     * @param pageSize the maximum number of events on the page
+     * @param userId discord id of the user the RSVP status is computed for
+     * @return the page of event summaries
+     */
+    public EventPage<EventSummary> getUpcomingEventSummariesPage(
+            @Nonnull EventFilter filter,
+            @Nullable EventPageCursor cursor,
+            int pageSize,
+            @Nonnull String userId) {
+        List<EventSummary> summaries =
+                studyEventRepository.find(
+                        pageQuery(filter, cursor, pageSize), summaryProjection(userId));
+        return toPage(
+                withRsvpStatus(summaries, userId),
+                cursor,
+                pageSize,
+                EventSummary::getStart,
+                EventSummary::getId);
+    }
+
+    /**
+     * Reads only the fields a listing shows. The RSVP status comes from the attendee array unless
+     * RSVPs are in the attendance store, in which case {@link #withRsvpStatus} fills it in.
      */
-    public List<StudyEvent> filterEventsByLocation(
-            List<StudyEvent> events, StudyEventLocation location) {
-        if (location != null) {
-            return events.stream()
-                    .filter(event -> event.getLocation() == location)
-                    .collect(Collectors.toList());
+    private Projection<StudyEvent, EventSummary> summaryProjection(@Nonnull String userId) {
+        return attendanceStore == null
+                ? EventSummary.projection(userId)
+                : EventSummary.projection();
+    }
+
+    /** Fills in the RSVP status of summaries read from events whose RSVPs are in the store. */
+    private List<EventSummary> withRsvpStatus(
+            @Nonnull List<EventSummary> summaries, @Nonnull String userId) {
+        if (attendanceStore == null || summaries.isEmpty()) {
+            return summaries;
+        }
+
+        Set<ObjectId> attending =
+                attendanceStore.attending(
+                        AttendeeSet.parseId(userId),
+                        summaries.stream().map(EventSummary::getId).collect(Collectors.toList()));
+        for (EventSummary summary : summaries) {
+            summary.setRsvped(attending.contains(summary.getId()));
+        }
+        return summaries;
+    }
+
+    /** Builds the query for a page: it seeks past the cursor and reads one event extra. */
+    private Query<StudyEvent> pageQuery(
+            @Nonnull EventFilter filter, @Nullable EventPageCursor cursor, int pageSize) {
+        Query<StudyEvent> query = upcomingEventsQuery(filter);
+        if (cursor == null) {
+            query.sortAscending(StudyEvent.START_FIELD, StudyEvent::getStart)
+                    .sortAscending(Model.ID_FIELD, StudyEvent::getId);
+        } else if (cursor.isForward()) {
+            query.seekAfter(
+                    StudyEvent.START_FIELD,
+                    StudyEvent::getStart,
+                    cursor.getStart(),
+                    Model.ID_FIELD,
+                    StudyEvent::getId,
+                    cursor.getId());
+        } else {
+            query.seekBefore(
+                    StudyEvent.START_FIELD,
+                    StudyEvent::getStart,
+                    cursor.getStart(),
+                    Model.ID_FIELD,
+                    StudyEvent::getId,
+                    cursor.getId());
+        }
+        return query.limit(pageSize + 1);
+    }
+
+    /** Turns the results of {@link #pageQuery} into a page in start time order. */
+    private <E> EventPage<E> toPage(
+            @Nonnull Collection<E> results,
+            @Nullable EventPageCursor cursor,
+            int pageSize,
+            @Nonnull Function<E, Date> startGetter,
+            @Nonnull Function<E, ObjectId> idGetter) {
+        boolean forward = cursor == null || cursor.isForward();
+        List<E> events = new ArrayList<>(results);
+        boolean more = events.size() > pageSize;
+        if (more) {
+            events.remove(pageSize);
+        }
+        if (!forward) {
+            Collections.reverse(events);
+        }
+        if (events.isEmpty()) {
+            return new EventPage<>(events, null, null);
+        }
+
+        E first = events.get(0);
+        E last = events.get(events.size() - 1);
+        boolean hasPrevious = forward ? cursor != null : more;
+        boolean hasNext = !forward || more;
+        EventPageCursor previousCursor =
+                hasPrevious
+                        ? EventPageCursor.before(startGetter.apply(first), idGetter.apply(first))
+                        : null;
+        EventPageCursor nextCursor =
+                hasNext
+                        ? EventPageCursor.after(startGetter.apply(last), idGetter.apply(last))
+                        : null;
+        return new EventPage<>(events, previousCursor, nextCursor);
+    }
+
+    /** Builds the query for events that match a filter and have not started yet. */
+    private Query<StudyEvent> upcomingEventsQuery(@Nonnull EventFilter filter) {
+        Query<StudyEvent> query =
+                Query.<StudyEvent>where()
+                        .eq(
+                                StudyEvent.ORGANIZER_FIELD,
+                                StudyEvent::getOrganizer,
+                                filter.getOrganizerId())
+                        .gt(StudyEvent.START_FIELD, StudyEvent::getStart, new Date());
+
+        if (filter.getEventType() != null) {
+            query.eq(StudyEvent.EVENT_TYPE_FIELD, StudyEvent::getEventType, filter.getEventType());
+        }
+
+        if (filter.getAttendeeId() != null && attendanceStore != null) {
+            query.in(
+                    Model.ID_FIELD,
+                    StudyEvent::getId,
+                    attendanceStore.eventIds(AttendeeSet.parseId(filter.getAttendeeId())));
+        } else if (filter.getAttendeeId() != null) {
+            query.contains(
+                    StudyEvent.ATTENDEES_FIELD,
+                    StudyEvent::getAttendeesList,
+                    AttendeeSet.parseId(filter.getAttendeeId()));
         }
-        return events;
+
+        if (filter.getLocation() != null) {
+            query.eq(StudyEvent.LOCATION_FIELD, StudyEvent::getLocation, filter.getLocation());
+        }
+
+        if (filter.isOpenSeatsOnly()) {
+            withOpenSeat(query);
+        }
+
+        Date[] period = getPeriodBounds(filter.getPeriods());
+        if (period != null) {
+            query.gt(StudyEvent.START_FIELD, StudyEvent::getStart, period[0])
+                    .lt(StudyEvent.START_FIELD, StudyEvent::getStart, period[1]);
+        }
+
+        if (filter.getFrom() != null) {
+            query.gte(
+                    StudyEvent.START_FIELD,
+                    StudyEvent::getStart,
+                    toDate(filter.getFrom().atStartOfDay()));
+        }
+
+        if (filter.getTo() != null) {
+            query.lt(
+                    StudyEvent.START_FIELD,
+                    StudyEvent::getStart,
+                    toDate(filter.getTo().plusDays(1).atStartOfDay()));
+        }
+
+        return query;
     }
 
     /**
-     * Helper method to filter events by period
+     * Helper method to get the exclusive bounds of a period
      *
-     * @param events events list
-     * @param periods time frame for the filtering
-     * @return events after filtering
+     * @param periods time frame for the search
+     * @return start and end of the period, or null if the period is not restricted
      */
-    public List<StudyEvent> filterEventsByPeriod(List<StudyEvent> events, String periods) {
+    private Date[] getPeriodBounds(String periods) {
         if (periods == null) {
-            return events;
+            return null;
         }
 
         switch (periods) {
             case "this_week":
-                return filterEventsForThisWeek(events);
+                return getThisWeekBounds();
             case "this_month":
-                return filterEventsForThisMonth(events);
+                return getThisMonthBounds();
             default:
-                return events;
+                return null;
         }
     }
 
-    /**
-     * helper function to filter for this week events
-     *
-     * @param events events list
-     * @return list of event within this week
-     */
-    public List<StudyEvent> filterEventsForThisWeek(List<StudyEvent> events) {
+    private Date[] getThisWeekBounds() {
         LocalDateTime startOfWeek =
                 LocalDateTime.now()
                         .with(DayOfWeek.MONDAY)
@@ -318,33 +859,10 @@ public class StudyEventController {
                         .withSecond(0)
                         .withNano(0);
         LocalDateTime endOfWeek = startOfWeek.plusDays(7);
-        return events.stream()
-                .filter(
-                        event ->
-                                event.getStart()
-                                        .after(
-                                                Date.from(
-                                                        startOfWeek
-                                                                .atZone(ZoneId.systemDefault())
-                                                                .toInstant())))
-                .filter(
-                        event ->
-                                event.getStart()
-                                        .before(
-                                                Date.from(
-                                                        endOfWeek
-                                                                .atZone(ZoneId.systemDefault())
-                                                                .toInstant())))
-                .collect(Collectors.toList());
+        return new Date[] {toDate(startOfWeek), toDate(endOfWeek)};
     }
 
-    /**
-     * function to filter this month events
-     *
-     * @param events events list
-     * @return list of event within this month
-     */
-    public List<StudyEvent> filterEventsForThisMonth(List<StudyEvent> events) {
+    private Date[] getThisMonthBounds() {
         LocalDateTime startOfMonth =
                 LocalDateTime.now()
                         .withDayOfMonth(1)
@@ -353,51 +871,45 @@ public class StudyEventController {
                         .withSecond(0)
                         .withNano(0);
         LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusDays(1);
-        return events.stream()
-                .filter(
-                        event ->
-                                event.getStart()
-                                        .after(
-                                                Date.from(
-                                                        startOfMonth
-                                                                .atZone(ZoneId.systemDefault())
-                                                                .toInstant())))
-                .filter(
-                        event ->
-                                event.getStart()
-                                        .before(
-                                                Date.from(
-                                                        endOfMonth
-                                                                .atZone(ZoneId.systemDefault())
-                                                                .toInstant())))
-                .collect(Collectors.toList());
-    }
-    /*
-     * Gets Object of Studyevent based on the event id.
+        return new Date[] {toDate(startOfMonth), toDate(endOfMonth)};
+    }
+
+    private Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Updates only the given fields of an event, without reading or rewriting the rest of it.
      *
-     * @param eventId String id of the event, Map<String, Object> updates
+     * @param eventId String id of the event
+     * @param updates new values keyed by "title", "startTime", "endTime" or "location"
      * @return True or false based on if event updated
      */
     public boolean updateEvent(@Nonnull String eventId, @Nonnull Map<String, Object> updates) {
-        StudyEvent event = getEventById(eventId);
-        if (event == null) {
+        ObjectId eventObjectId = getEventObjectId(eventId);
+        if (eventObjectId == null) {
             return false; // Handle event not found
         }
 
+        Update<StudyEvent> update = Update.of();
         updates.forEach(
                 (field, value) -> {
                     switch (field) {
                         case "title":
-                            event.setTitle((String) value);
+                            update.set(
+                                    StudyEvent.TITLE_FIELD, StudyEvent::setTitle, (String) value);
                             break;
                         case "startTime":
-                            event.setStart((Date) value);
+                            update.set(StudyEvent.START_FIELD, StudyEvent::setStart, (Date) value);
                             break;
                         case "endTime":
-                            event.setEnd((Date) value);
+                            update.set(StudyEvent.END_FIELD, StudyEvent::setEnd, (Date) value);
                             break;
                         case "location":
-                            event.setLocation(StudyEventLocation.valueOf((String) value));
+                            update.set(
+                                    StudyEvent.LOCATION_FIELD,
+                                    StudyEvent::setLocation,
+                                    StudyEventLocation.valueOf((String) value));
                             break;
                         default:
                             // Log unexpected field or throw an exception if necessary
@@ -409,7 +921,7 @@ public class StudyEventController {
                     }
                 });
 
-        StudyEvent updatedEvent = studyEventRepository.update(event);
+        StudyEvent updatedEvent = studyEventRepository.patch(eventObjectId, update);
         return updatedEvent != null;
     }
 }
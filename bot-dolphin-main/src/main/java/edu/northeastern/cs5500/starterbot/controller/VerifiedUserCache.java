@@ -0,0 +1,58 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.util.LongBloomFilter;
+import edu.northeastern.cs5500.starterbot.util.LongHashSet;
+
+/**
+ * The Discord ids of the verified users, held in memory so that checking a user does not read the
+ * database. Ids are kept as primitive longs, and a Bloom filter in front of the set answers most
+ * checks for unverified users without probing it.
+ */
+class VerifiedUserCache {
+
+    static final int MIN_CAPACITY = 1024;
+    static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final LongHashSet ids = new LongHashSet();
+    private volatile LongBloomFilter filter =
+            LongBloomFilter.create(MIN_CAPACITY, FALSE_POSITIVE_PROBABILITY);
+    private volatile boolean loaded;
+
+    /** @return true once every verified user has been added */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Records that every verified user has been added. */
+    void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * @param discordId the snowflake id of a user
+     * @return true if the user is verified
+     */
+    boolean contains(long discordId) {
+        return filter.mightContain(discordId) && ids.contains(discordId);
+    }
+
+    /**
+     * Adds a verified user. When the Bloom filter fills up, a filter twice as large is built and
+     * swapped in.
+     *
+     * @param discordId the snowflake id of the user
+     */
+    synchronized void add(long discordId) {
+        if (!ids.add(discordId)) {
+            return;
+        }
+        LongBloomFilter current = filter;
+        current.put(discordId);
+        if (ids.size() > current.capacity()) {
+            LongBloomFilter grown =
+                    LongBloomFilter.create(ids.size() * 2, FALSE_POSITIVE_PROBABILITY);
+            ids.forEach(grown::put);
+            filter = grown;
+        }
+    }
+}
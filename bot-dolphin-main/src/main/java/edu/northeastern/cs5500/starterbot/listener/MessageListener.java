@@ -8,18 +8,26 @@ import edu.northeastern.cs5500.starterbot.controller.EventUserController;
 import edu.northeastern.cs5500.starterbot.exception.ButtonNotFoundException;
 import edu.northeastern.cs5500.starterbot.exception.CommandNotFoundException;
 import edu.northeastern.cs5500.starterbot.exception.StringSelectNotFoundException;
+import edu.northeastern.cs5500.starterbot.repository.UnitOfWork;
+import edu.northeastern.cs5500.starterbot.service.DatabaseUsage;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.ServiceModule;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
@@ -29,6 +37,14 @@ import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionE
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 
+/**
+ * Dispatches each interaction to its handler within a {@link UnitOfWork}, so that a handler loads
+ * each entity at most once. The database usage of each interaction is reported under the name of
+ * its command or button by {@link DatabaseUsage}.
+ *
+ * <p>Handlers run on JDA's event thread, or on the interaction executor when one is configured.
+ * See {@link ServiceModule#INTERACTION_EXECUTOR}.
+ */
 @Slf4j
 public class MessageListener extends ListenerAdapter {
 
@@ -39,13 +55,56 @@ public class MessageListener extends ListenerAdapter {
 
     @Inject OpenTelemetryService openTelemetryService;
 
+    @Inject @Named(ServiceModule.INTERACTION_EXECUTOR) @Nullable Executor interactionExecutor;
+
+    private Map<String, SlashCommandHandler> commandHandlers;
+    private Map<String, ButtonHandler> buttonHandlers;
+    private Map<String, StringSelectHandler> stringSelectHandlers;
+
     @Inject
     public MessageListener() {
         super();
     }
 
+    /**
+     * Resolves every handler once, after injection. The handlers are singletons, so a handler
+     * registered under several names is shared by them.
+     */
+    @Inject
+    void buildDispatchTables() {
+        commandHandlers = resolve(commands);
+        buttonHandlers = resolve(buttons);
+        stringSelectHandlers = resolve(stringSelects);
+    }
+
+    private static <H> Map<String, H> resolve(@Nonnull Map<String, Provider<H>> providers) {
+        Map<String, H> handlers = new HashMap<>();
+        for (Entry<String, Provider<H>> entry : providers.entrySet()) {
+            handlers.put(entry.getKey(), entry.getValue().get());
+        }
+        return Map.copyOf(handlers);
+    }
+
+    /** Runs a handler on the interaction executor if there is one, otherwise on this thread. */
+    private void dispatch(@Nonnull Runnable handle) {
+        if (interactionExecutor == null) {
+            handle.run();
+            return;
+        }
+        try {
+            interactionExecutor.execute(handle);
+        } catch (RejectedExecutionException e) {
+            log.warn("The interaction executor rejected an interaction, so it runs inline", e);
+            handle.run();
+        }
+    }
+
     @Override
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
+        dispatch(() -> handleSlashCommandInteraction(event));
+    }
+
+    private void handleSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
 
         String discordUserId = event.getUser().getId();
         String commandName = event.getName();
@@ -64,16 +123,14 @@ public class MessageListener extends ListenerAdapter {
         var name = event.getName();
         Span span = openTelemetryService.span(name);
 
-        try (Scope scope = span.makeCurrent()) {
-            for (Entry<String, Provider<SlashCommandHandler>> entry : commands.entrySet()) {
-                if (entry.getKey().equals(name)) {
-                    entry.getValue().get().onSlashCommandInteraction(event);
-                    span.end();
-                    return;
-                }
+        try (Scope scope = span.makeCurrent();
+                DatabaseUsage databaseUsage = DatabaseUsage.begin(name);
+                UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            SlashCommandHandler handler = commandHandlers.get(name);
+            if (handler == null) {
+                throw new CommandNotFoundException(name);
             }
-
-            throw new CommandNotFoundException(name);
+            handler.onSlashCommandInteraction(event);
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -85,8 +142,8 @@ public class MessageListener extends ListenerAdapter {
 
     public @Nonnull Collection<CommandData> allCommandData() {
         Collection<CommandData> commandData =
-                commands.values().stream()
-                        .map(Provider<SlashCommandHandler>::get)
+                commandHandlers.values().stream()
+                        .distinct()
                         .map(SlashCommandHandler::getCommandData)
                         .collect(Collectors.toList());
         if (commandData == null) {
@@ -97,23 +154,27 @@ public class MessageListener extends ListenerAdapter {
 
     @Override
     public void onButtonInteraction(@Nonnull ButtonInteractionEvent event) {
+        dispatch(() -> handleButtonInteraction(event));
+    }
+
+    private void handleButtonInteraction(@Nonnull ButtonInteractionEvent event) {
         log.info("onButtonInteraction: {}", event.getButton().getId());
         String id = event.getButton().getId();
         Objects.requireNonNull(id);
-        String handlerName = id.split(":", 2)[0];
+        // The handler's name comes before the first ':', followed by its arguments
+        int separator = id.indexOf(':');
+        String handlerName = separator < 0 ? id : id.substring(0, separator);
 
         Span span = openTelemetryService.span(handlerName);
 
-        try (Scope scope = span.makeCurrent()) {
-            for (Entry<String, Provider<ButtonHandler>> entry : buttons.entrySet()) {
-                if (entry.getKey().equals(handlerName)) {
-                    entry.getValue().get().onButtonInteraction(event);
-                    span.end();
-                    return;
-                }
+        try (Scope scope = span.makeCurrent();
+                DatabaseUsage databaseUsage = DatabaseUsage.begin(handlerName);
+                UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            ButtonHandler handler = buttonHandlers.get(handlerName);
+            if (handler == null) {
+                throw new ButtonNotFoundException(handlerName);
             }
-
-            throw new ButtonNotFoundException(handlerName);
+            handler.onButtonInteraction(event);
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -125,20 +186,23 @@ public class MessageListener extends ListenerAdapter {
 
     @Override
     public void onStringSelectInteraction(@Nonnull StringSelectInteractionEvent event) {
+        dispatch(() -> handleStringSelectInteraction(event));
+    }
+
+    private void handleStringSelectInteraction(@Nonnull StringSelectInteractionEvent event) {
         log.info("onStringSelectInteraction: {}", event.getComponent().getId());
         String handlerName = event.getComponent().getId();
 
         Span span = openTelemetryService.span(handlerName);
 
-        try (Scope scope = span.makeCurrent()) {
-            for (Entry<String, Provider<StringSelectHandler>> entry : stringSelects.entrySet()) {
-                if (entry.getKey().equals(handlerName)) {
-                    entry.getValue().get().onStringSelectInteraction(event);
-                    return;
-                }
+        try (Scope scope = span.makeCurrent();
+                DatabaseUsage databaseUsage = DatabaseUsage.begin(handlerName);
+                UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            StringSelectHandler handler = stringSelectHandlers.get(handlerName);
+            if (handler == null) {
+                throw new StringSelectNotFoundException(handlerName);
             }
-
-            throw new StringSelectNotFoundException(handlerName);
+            handler.onStringSelectInteraction(event);
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -151,17 +215,22 @@ public class MessageListener extends ListenerAdapter {
 
     @Override
     public void onModalInteraction(@Nonnull ModalInteractionEvent event) {
+        dispatch(() -> handleModalInteraction(event));
+    }
+
+    private void handleModalInteraction(@Nonnull ModalInteractionEvent event) {
         String modalId = event.getModalId();
         if (modalId.startsWith("edit_event_")) {
             String eventId = modalId.substring("edit_event_".length());
-            buttons.values().stream()
-                    .map(Provider::get)
-                    .filter(handler -> handler instanceof EditEventButtonHandler)
-                    .findFirst()
-                    .ifPresent(
-                            handler ->
-                                    ((EditEventButtonHandler) handler)
-                                            .handleEditEventModalInteraction(event, eventId));
+            try (DatabaseUsage databaseUsage =
+                            DatabaseUsage.begin(EditEventButtonHandler.EDIT_EVENT_NAME);
+                    UnitOfWork unitOfWork = UnitOfWork.begin()) {
+                ButtonHandler handler = buttonHandlers.get(EditEventButtonHandler.EDIT_EVENT_NAME);
+                if (handler instanceof EditEventButtonHandler) {
+                    ((EditEventButtonHandler) handler)
+                            .handleEditEventModalInteraction(event, eventId);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,42 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+/**
+ * One user's RSVP to one study event. Storing each RSVP as its own small document keeps the event
+ * document from growing with its attendees, and lets RSVPs to the same event be written without
+ * contending on it.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@MongoIndex(fields = {Attendance.EVENT_ID_FIELD, Attendance.USER_ID_FIELD}, unique = true)
+@MongoIndex(fields = Attendance.USER_ID_FIELD)
+public class Attendance implements Model {
+    /** Stored field names, for building repository queries. */
+    public static final String EVENT_ID_FIELD = "eventId";
+    public static final String USER_ID_FIELD = "userId";
+
+    /** The unique identifier of the RSVP. */
+    ObjectId id;
+
+    /** The id of the study event. */
+    ObjectId eventId;
+
+    /** The Discord id of the attendee. */
+    long userId;
+
+    /**
+     * Copies the RSVP, so that changing the copy never changes this one.
+     *
+     * @return the copy
+     */
+    public Attendance copy() {
+        return toBuilder().build();
+    }
+}
@@ -0,0 +1,263 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.LongStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable set of Discord user ids, stored as a sorted array of primitive longs. Each id takes
+ * 8 bytes instead of a String, and membership is a binary search.
+ *
+ * <p>It is stored in MongoDB as an array of 64-bit integers by {@link AttendeeSetCodec}. Adding or
+ * removing an id returns a new set, so readers holding the old one are unaffected.
+ *
+ * <p>Ids stored as strings that are not numbers, from before attendees were stored as numbers, are
+ * kept aside as legacy ids. They are not elements of the set, but are carried through every change
+ * so that writing the set back does not lose them.
+ */
+public final class AttendeeSet extends AbstractSet<Long> {
+
+    private static final AttendeeSet EMPTY = new AttendeeSet(new long[0], List.of());
+
+    /** Sorted and free of duplicates. */
+    private final long[] ids;
+
+    private final List<String> legacyIds;
+
+    private AttendeeSet(@Nonnull long[] ids, @Nonnull List<String> legacyIds) {
+        this.ids = ids;
+        this.legacyIds = legacyIds;
+    }
+
+    /** @return the empty set */
+    public static AttendeeSet of() {
+        return EMPTY;
+    }
+
+    /**
+     * @param ids the ids of the set, in any order and possibly repeated
+     * @return a set of the ids
+     */
+    public static AttendeeSet of(long... ids) {
+        return fromUnsorted(ids.clone());
+    }
+
+    /**
+     * @param discordIds Discord user ids as strings
+     * @return a set of the ids
+     * @throws NumberFormatException if an id is not a Discord snowflake
+     */
+    public static AttendeeSet copyOf(@Nonnull Collection<String> discordIds) {
+        return fromUnsorted(discordIds.stream().mapToLong(AttendeeSet::parseId).toArray());
+    }
+
+    /**
+     * Builds a set from ids read from the database, which are normally sorted already.
+     *
+     * @param ids the ids, which the set takes ownership of
+     * @return a set of the ids
+     */
+    static AttendeeSet fromUnsorted(@Nonnull long[] ids) {
+        return fromUnsorted(ids, List.of());
+    }
+
+    /**
+     * @param ids the ids, which the set takes ownership of
+     * @param legacyIds stored ids that are not numbers, to write back unchanged
+     * @return a set of the ids
+     */
+    static AttendeeSet fromUnsorted(@Nonnull long[] ids, @Nonnull List<String> legacyIds) {
+        if (ids.length == 0) {
+            return legacyIds.isEmpty() ? EMPTY : new AttendeeSet(ids, List.copyOf(legacyIds));
+        }
+        Arrays.sort(ids);
+        int distinct = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new AttendeeSet(
+                distinct == ids.length ? ids : Arrays.copyOf(ids, distinct),
+                List.copyOf(legacyIds));
+    }
+
+    /**
+     * @param discordId a Discord user id
+     * @return the id as a long
+     * @throws NumberFormatException if the id is not a Discord snowflake
+     */
+    public static long parseId(@Nonnull String discordId) {
+        return Long.parseLong(discordId);
+    }
+
+    /**
+     * @param set a set, or null for an empty one
+     * @param id the id to add
+     * @return a set with the id added
+     */
+    public static AttendeeSet withAttendee(@Nullable AttendeeSet set, long id) {
+        return (set == null ? EMPTY : set).with(id);
+    }
+
+    /**
+     * @param set a set, or null for an empty one
+     * @param id the id to remove
+     * @return a set without the id
+     */
+    public static AttendeeSet withoutAttendee(@Nullable AttendeeSet set, long id) {
+        return set == null ? EMPTY : set.without(id);
+    }
+
+    /**
+     * @param set a set, or null for an empty one
+     * @param ids the ids to add
+     * @return a set with the ids added
+     */
+    public static AttendeeSet withAttendees(
+            @Nullable AttendeeSet set, @Nonnull Collection<Long> ids) {
+        AttendeeSet current = set == null ? EMPTY : set;
+        long[] added = Arrays.copyOf(current.ids, current.ids.length + ids.size());
+        int size = current.ids.length;
+        for (long id : ids) {
+            added[size++] = id;
+        }
+        return fromUnsorted(added, current.legacyIds);
+    }
+
+    /**
+     * @param set a set, or null for an empty one
+     * @param ids the ids to remove
+     * @return a set without the ids
+     */
+    public static AttendeeSet withoutAttendees(
+            @Nullable AttendeeSet set, @Nonnull Collection<Long> ids) {
+        if (set == null) {
+            return EMPTY;
+        }
+        Set<Long> removed = new HashSet<>(ids);
+        return fromUnsorted(
+                set.ids().filter(id -> !removed.contains(id)).toArray(), set.legacyIds);
+    }
+
+    /**
+     * @param id the id to add
+     * @return a set with the id added, or this set if it already holds the id
+     */
+    public AttendeeSet with(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        long[] added = new long[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, insertAt);
+        added[insertAt] = id;
+        System.arraycopy(ids, insertAt, added, insertAt + 1, ids.length - insertAt);
+        return new AttendeeSet(added, legacyIds);
+    }
+
+    /**
+     * @param id the id to remove
+     * @return a set without the id, or this set if it does not hold the id
+     */
+    public AttendeeSet without(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        long[] removed = new long[ids.length - 1];
+        System.arraycopy(ids, 0, removed, 0, index);
+        System.arraycopy(ids, index + 1, removed, index, ids.length - index - 1);
+        return new AttendeeSet(removed, legacyIds);
+    }
+
+    /**
+     * @param id a Discord user id
+     * @return true if the set holds the id
+     */
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * @param discordId a Discord user id as a string
+     * @return true if the set holds the id; false if it is not a Discord snowflake
+     */
+    public boolean containsUser(@Nullable String discordId) {
+        if (discordId == null) {
+            return false;
+        }
+        try {
+            return contains(parseId(discordId));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    /** @return the ids in ascending order, without boxing them */
+    public LongStream ids() {
+        return Arrays.stream(ids);
+    }
+
+    /** @return the stored ids that are not numbers, which are not elements of the set */
+    List<String> legacyIds() {
+        return legacyIds;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new Iterator<Long>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public Long next() {
+                if (next >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return ids[next++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof AttendeeSet) {
+            return Arrays.equals(ids, ((AttendeeSet) o).ids);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Must agree with Set.hashCode, which sums the hash codes of the boxed elements
+        int hash = 0;
+        for (long id : ids) {
+            hash += Long.hashCode(id);
+        }
+        return hash;
+    }
+}
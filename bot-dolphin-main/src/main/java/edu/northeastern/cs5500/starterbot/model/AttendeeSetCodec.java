@@ -0,0 +1,97 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.pojo.PropertyCodecProvider;
+import org.bson.codecs.pojo.PropertyCodecRegistry;
+import org.bson.codecs.pojo.TypeWithTypeParameters;
+
+/**
+ * Stores an {@link AttendeeSet} as a BSON array of 64-bit integers, read straight into a long
+ * array without boxing.
+ *
+ * <p>Documents written before attendees were stored as numbers hold them as strings. Those are
+ * still read, so such documents load normally until they are rewritten; see {@code
+ * MongoDBRepository#convertArrayElementsToLong} for converting them in place. A string that is
+ * not a number is kept as a legacy id of the set and written back as it was.
+ */
+@Slf4j
+public class AttendeeSetCodec implements Codec<AttendeeSet> {
+
+    /**
+     * Makes the automatic POJO codec use {@link AttendeeSetCodec} for {@link AttendeeSet}
+     * properties, rather than treating them as a collection it could build element by element.
+     */
+    public static final PropertyCodecProvider PROPERTY_CODEC_PROVIDER =
+            new PropertyCodecProvider() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> Codec<T> get(
+                        TypeWithTypeParameters<T> type, PropertyCodecRegistry registry) {
+                    return type.getType() == AttendeeSet.class
+                            ? (Codec<T>) new AttendeeSetCodec()
+                            : null;
+                }
+            };
+
+    @Override
+    public void encode(BsonWriter writer, AttendeeSet value, EncoderContext encoderContext) {
+        writer.writeStartArray();
+        value.ids().forEach(writer::writeInt64);
+        value.legacyIds().forEach(writer::writeString);
+        writer.writeEndArray();
+    }
+
+    @Override
+    public AttendeeSet decode(BsonReader reader, DecoderContext decoderContext) {
+        long[] ids = new long[16];
+        int size = 0;
+        List<String> legacyIds = List.of();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            switch (reader.getCurrentBsonType()) {
+                case INT64:
+                    ids[size++] = reader.readInt64();
+                    break;
+                case INT32:
+                    ids[size++] = reader.readInt32();
+                    break;
+                case STRING:
+                    String legacyId = reader.readString();
+                    try {
+                        long id = AttendeeSet.parseId(legacyId);
+                        ids[size++] = id;
+                    } catch (NumberFormatException e) {
+                        if (legacyIds.isEmpty()) {
+                            legacyIds = new ArrayList<>();
+                        }
+                        legacyIds.add(legacyId);
+                    }
+                    break;
+                default:
+                    log.warn("Skipping attendee id of type {}", reader.getCurrentBsonType());
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.readEndArray();
+        return AttendeeSet.fromUnsorted(
+                size == ids.length ? ids : Arrays.copyOf(ids, size), legacyIds);
+    }
+
+    @Override
+    public Class<AttendeeSet> getEncoderClass() {
+        return AttendeeSet.class;
+    }
+}
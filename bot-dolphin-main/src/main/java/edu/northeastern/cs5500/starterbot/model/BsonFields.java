@@ -0,0 +1,120 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+
+/**
+ * Field readers and writers shared by the hand-written model codecs. Writers skip null values,
+ * as the automatic POJO codec does, so documents keep the same shape whichever codec wrote them.
+ */
+@Slf4j
+final class BsonFields {
+
+    private BsonFields() {}
+
+    /**
+     * Maps the names of an enum's constants to the constants. Enums are stored by name, so
+     * reordering the constants does not change what stored documents decode to.
+     */
+    static <E extends Enum<E>> Map<String, E> byName(@Nonnull Class<E> enumClass) {
+        Map<String, E> constants = new HashMap<>();
+        for (E constant : enumClass.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+        }
+        return constants;
+    }
+
+    static void writeString(@Nonnull BsonWriter writer, String name, @Nullable String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    static void writeDate(@Nonnull BsonWriter writer, String name, @Nullable Date value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.getTime());
+        }
+    }
+
+    static void writeEnum(@Nonnull BsonWriter writer, String name, @Nullable Enum<?> value) {
+        if (value != null) {
+            writer.writeString(name, value.name());
+        }
+    }
+
+    static void writeStrings(
+            @Nonnull BsonWriter writer, String name, @Nullable List<String> values) {
+        if (values == null) {
+            return;
+        }
+        writer.writeStartArray(name);
+        for (String value : values) {
+            if (value == null) {
+                writer.writeNull();
+            } else {
+                writer.writeString(value);
+            }
+        }
+        writer.writeEndArray();
+    }
+
+    /** Reads a number as an int. Counters written by $inc or $size may be any numeric type. */
+    static int readInt(@Nonnull BsonReader reader, String name) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return (int) reader.readInt64();
+            case DOUBLE:
+                return (int) reader.readDouble();
+            default:
+                log.warn("Skipping {} of type {}", name, reader.getCurrentBsonType());
+                reader.skipValue();
+                return 0;
+        }
+    }
+
+    static Date readDate(@Nonnull BsonReader reader) {
+        return new Date(reader.readDateTime());
+    }
+
+    /**
+     * Reads an enum constant stored by name.
+     *
+     * @return the constant, or null when the stored name is not one of the constants
+     */
+    @Nullable
+    static <E extends Enum<E>> E readEnum(
+            @Nonnull BsonReader reader, String name, @Nonnull Map<String, E> constants) {
+        String stored = reader.readString();
+        E constant = constants.get(stored);
+        if (constant == null) {
+            log.warn("Ignoring unknown {} {}", name, stored);
+        }
+        return constant;
+    }
+
+    static List<String> readStrings(@Nonnull BsonReader reader) {
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                values.add(null);
+            } else {
+                values.add(reader.readString());
+            }
+        }
+        reader.readEndArray();
+        return values;
+    }
+}
@@ -0,0 +1,115 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import edu.northeastern.cs5500.starterbot.repository.Projection;
+import java.util.Date;
+import javax.annotation.Nonnull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+/**
+ * The part of a study event shown in event listings. It is read as a projection of {@link
+ * StudyEvent}, so the attendee ids, the waitlist and the attachments are never loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+    public static final String RSVPED_FIELD = "rsvped";
+
+    /** The unique identifier of the study event. */
+    ObjectId id;
+
+    /** The title of the study event. */
+    String title;
+
+    /** The start date and time of the study event */
+    Date start;
+
+    /** The possible locations for study events */
+    StudyEventLocation location;
+
+    /** The description about the study event */
+    String description;
+
+    /** The maximum number of attendees in the study event */
+    int maxAttendees;
+
+    /** The number of attendees who have RSVP'd */
+    int attendeeCount;
+
+    /** Whether the user who asked for the listing has RSVP'd */
+    boolean rsvped;
+
+    /**
+     * Builds the summary of a study event, without the RSVP status of any user.
+     *
+     * @param studyEvent the study event
+     * @return the summary
+     */
+    public static EventSummary of(@Nonnull StudyEvent studyEvent) {
+        return EventSummary.builder()
+                .id(studyEvent.getId())
+                .title(studyEvent.getTitle())
+                .start(studyEvent.getStart())
+                .location(studyEvent.getLocation())
+                .description(studyEvent.getDescription())
+                .maxAttendees(studyEvent.getMaxAttendees())
+                .attendeeCount(studyEvent.getAttendeeCount())
+                .build();
+    }
+
+    /**
+     * Builds the summary of a study event for a user.
+     *
+     * @param studyEvent the study event
+     * @param userId the discord id of the user
+     * @return the summary
+     */
+    public static EventSummary of(@Nonnull StudyEvent studyEvent, @Nonnull String userId) {
+        EventSummary summary = of(studyEvent);
+        AttendeeSet attendees = studyEvent.getAttendeesList();
+        summary.setRsvped(attendees != null && attendees.containsUser(userId));
+        return summary;
+    }
+
+    /**
+     * The projection that reads summaries like {@link #of(StudyEvent)}. The attendee count is the
+     * event's maintained counter, so the attendees are never read.
+     *
+     * @return the projection
+     */
+    public static Projection<StudyEvent, EventSummary> projection() {
+        return Projection.<StudyEvent, EventSummary>into(EventSummary.class, EventSummary::of)
+                .include(
+                        StudyEvent.TITLE_FIELD,
+                        StudyEvent.START_FIELD,
+                        StudyEvent.LOCATION_FIELD,
+                        StudyEvent.DESCRIPTION_FIELD,
+                        StudyEvent.MAX_ATTENDEES_FIELD,
+                        StudyEvent.ATTENDEE_COUNT_FIELD);
+    }
+
+    /**
+     * The projection that reads summaries for a user. The RSVP status is computed by the database,
+     * so the attendees are not returned.
+     *
+     * @param userId the discord id of the user
+     * @return the projection
+     */
+    public static Projection<StudyEvent, EventSummary> projection(@Nonnull String userId) {
+        return Projection.<StudyEvent, EventSummary>into(
+                        EventSummary.class, studyEvent -> of(studyEvent, userId))
+                .include(
+                        StudyEvent.TITLE_FIELD,
+                        StudyEvent.START_FIELD,
+                        StudyEvent.LOCATION_FIELD,
+                        StudyEvent.DESCRIPTION_FIELD,
+                        StudyEvent.MAX_ATTENDEES_FIELD,
+                        StudyEvent.ATTENDEE_COUNT_FIELD)
+                .contains(RSVPED_FIELD, StudyEvent.ATTENDEES_FIELD, AttendeeSet.parseId(userId));
+    }
+}
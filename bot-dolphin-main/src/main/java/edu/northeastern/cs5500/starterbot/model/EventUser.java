@@ -13,10 +13,19 @@ import org.bson.types.ObjectId;
  * @kabraambika
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@MongoIndex(fields = EventUser.DISCORD_ID_FIELD, unique = true)
 public class EventUser implements Model {
+    /** Stored field names, for building repository queries. */
+    public static final String DISCORD_ID_FIELD = "discordId";
+    public static final String NAME_FIELD = "name";
+    public static final String ROLE_FIELD = "role";
+    public static final String EMAIL_FIELD = "email";
+    public static final String ACCESS_TOKEN_FIELD = "userCalendarAccessToken";
+    public static final String REFRESH_TOKEN_FIELD = "userCalendarRefreshToken";
+
     /** The unique identifier of the user. */
     ObjectId id;
 
@@ -37,4 +46,13 @@ public class EventUser implements Model {
 
     /** The calendar refresh token of the user for integrating with Outlook calendar. */
     String userCalendarRefreshToken;
+
+    /**
+     * Copies the user, so that changing the copy never changes this one.
+     *
+     * @return the copy
+     */
+    public EventUser copy() {
+        return toBuilder().build();
+    }
 }
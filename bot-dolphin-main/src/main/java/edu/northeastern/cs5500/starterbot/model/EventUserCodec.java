@@ -0,0 +1,80 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.Map;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Stores an {@link EventUser} field by field, in the same shape as the automatic POJO codec. It
+ * is read on every verified command, so it avoids the POJO codec's reflective property access.
+ */
+public class EventUserCodec implements Codec<EventUser> {
+    private static final Map<String, EventUserRole> ROLES = BsonFields.byName(EventUserRole.class);
+
+    @Override
+    public void encode(BsonWriter writer, EventUser value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.getId() != null) {
+            writer.writeObjectId(Model.ID_FIELD, value.getId());
+        }
+        BsonFields.writeString(writer, EventUser.DISCORD_ID_FIELD, value.getDiscordId());
+        BsonFields.writeString(writer, EventUser.NAME_FIELD, value.getName());
+        BsonFields.writeEnum(writer, EventUser.ROLE_FIELD, value.getRole());
+        BsonFields.writeString(writer, EventUser.EMAIL_FIELD, value.getEmail());
+        BsonFields.writeString(
+                writer, EventUser.ACCESS_TOKEN_FIELD, value.getUserCalendarAccessToken());
+        BsonFields.writeString(
+                writer, EventUser.REFRESH_TOKEN_FIELD, value.getUserCalendarRefreshToken());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public EventUser decode(BsonReader reader, DecoderContext decoderContext) {
+        EventUser eventUser = new EventUser();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case Model.ID_FIELD:
+                    eventUser.setId(reader.readObjectId());
+                    break;
+                case EventUser.DISCORD_ID_FIELD:
+                    eventUser.setDiscordId(reader.readString());
+                    break;
+                case EventUser.NAME_FIELD:
+                    eventUser.setName(reader.readString());
+                    break;
+                case EventUser.ROLE_FIELD:
+                    eventUser.setRole(BsonFields.readEnum(reader, name, ROLES));
+                    break;
+                case EventUser.EMAIL_FIELD:
+                    eventUser.setEmail(reader.readString());
+                    break;
+                case EventUser.ACCESS_TOKEN_FIELD:
+                    eventUser.setUserCalendarAccessToken(reader.readString());
+                    break;
+                case EventUser.REFRESH_TOKEN_FIELD:
+                    eventUser.setUserCalendarRefreshToken(reader.readString());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.readEndDocument();
+        return eventUser;
+    }
+
+    @Override
+    public Class<EventUser> getEncoderClass() {
+        return EventUser.class;
+    }
+}
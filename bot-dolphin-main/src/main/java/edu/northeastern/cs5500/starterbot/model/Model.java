@@ -5,6 +5,9 @@ import org.bson.types.ObjectId;
 
 @ExcludeFromJacocoGeneratedReport
 public interface Model {
+    /** Stored name of the id field. */
+    String ID_FIELD = "_id";
+
     ObjectId getId();
 
     void setId(ObjectId id);
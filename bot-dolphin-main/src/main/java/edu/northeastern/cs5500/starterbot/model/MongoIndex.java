@@ -0,0 +1,32 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an ascending index on a model class, by the stored names of its fields. The MongoDB
+ * repository creates every declared index when it is constructed; creation is idempotent, so this
+ * is safe on every startup.
+ */
+@ExcludeFromJacocoGeneratedReport
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(MongoIndex.List.class)
+public @interface MongoIndex {
+    /** The stored field names covered by the index, in index order. */
+    String[] fields();
+
+    /** Whether the index rejects documents with duplicate keys. */
+    boolean unique() default false;
+
+    /** Container for repeated {@link MongoIndex} declarations. */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface List {
+        MongoIndex[] value();
+    }
+}
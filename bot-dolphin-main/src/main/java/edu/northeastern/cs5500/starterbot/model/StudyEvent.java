@@ -1,5 +1,6 @@
 package edu.northeastern.cs5500.starterbot.model;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -14,10 +15,35 @@ import org.bson.types.ObjectId;
  * @kabraambika
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@MongoIndex(
+        fields = {
+            StudyEvent.ORGANIZER_FIELD,
+            StudyEvent.EVENT_TYPE_FIELD,
+            StudyEvent.START_FIELD,
+            Model.ID_FIELD
+        })
+@MongoIndex(fields = {StudyEvent.ORGANIZER_FIELD, StudyEvent.START_FIELD, Model.ID_FIELD})
+@MongoIndex(fields = {StudyEvent.LOCATION_FIELD, StudyEvent.START_FIELD})
 public class StudyEvent implements Model {
+    /** Stored field names, for building repository queries. */
+    public static final String TITLE_FIELD = "title";
+    public static final String START_FIELD = "start";
+    public static final String END_FIELD = "end";
+    public static final String ORGANIZER_FIELD = "organizer";
+    public static final String LOCATION_FIELD = "location";
+    public static final String DESCRIPTION_FIELD = "description";
+    public static final String EVENT_TYPE_FIELD = "eventType";
+    public static final String CHANNEL_ID_FIELD = "channelId";
+    public static final String ATTACHMENTS_FIELD = "attachmentFiles";
+    public static final String MAX_ATTENDEES_FIELD = "maxAttendees";
+    public static final String ATTENDEES_FIELD = "attendeesList";
+    public static final String ATTENDEE_COUNT_FIELD = "attendeeCount";
+    public static final String MAX_WAITLIST_FIELD = "maxWaitlListAllowed";
+    public static final String WAITLIST_FIELD = "waitListAttendeesList";
+
     /** The unique identifier of the study event. */
     ObjectId id;
 
@@ -51,12 +77,32 @@ public class StudyEvent implements Model {
     /** The maximum number of attendees in the study event */
     int maxAttendees;
 
-    /** The list of attendees' id */
-    List<String> attendeesList;
+    /** The Discord ids of the attendees */
+    AttendeeSet attendeesList;
+
+    /**
+     * The number of attendees, kept in step with every RSVP when the attendees are stored in the
+     * attendance collection rather than in {@link #attendeesList}
+     */
+    int attendeeCount;
 
     /** The waitlisting allowed in the study event */
     int maxWaitlListAllowed;
 
-    /** The list of waitlisting attendees' id */
-    List<String> waitListAttendeesList;
+    /** The Discord ids of the waitlisted attendees */
+    AttendeeSet waitListAttendeesList;
+
+    /**
+     * Copies the event, so that changing the copy never changes this one. The attendee sets are
+     * immutable and are shared.
+     *
+     * @return the copy
+     */
+    public StudyEvent copy() {
+        return toBuilder()
+                .start(start == null ? null : new Date(start.getTime()))
+                .end(end == null ? null : new Date(end.getTime()))
+                .attachmentFiles(attachmentFiles == null ? null : new ArrayList<>(attachmentFiles))
+                .build();
+    }
 }
@@ -0,0 +1,131 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.Map;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Stores a {@link StudyEvent} field by field, in the same shape as the automatic POJO codec but
+ * without its reflective property access. Unknown fields are skipped and missing fields keep
+ * their defaults, so documents written by either codec can be read by the other.
+ */
+public class StudyEventCodec implements Codec<StudyEvent> {
+    private static final Map<String, StudyEventLocation> LOCATIONS =
+            BsonFields.byName(StudyEventLocation.class);
+    private static final Map<String, StudyEventType> EVENT_TYPES =
+            BsonFields.byName(StudyEventType.class);
+
+    private final AttendeeSetCodec attendeeSetCodec = new AttendeeSetCodec();
+
+    @Override
+    public void encode(BsonWriter writer, StudyEvent value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.getId() != null) {
+            writer.writeObjectId(Model.ID_FIELD, value.getId());
+        }
+        BsonFields.writeString(writer, StudyEvent.TITLE_FIELD, value.getTitle());
+        BsonFields.writeDate(writer, StudyEvent.START_FIELD, value.getStart());
+        BsonFields.writeDate(writer, StudyEvent.END_FIELD, value.getEnd());
+        BsonFields.writeString(writer, StudyEvent.ORGANIZER_FIELD, value.getOrganizer());
+        BsonFields.writeEnum(writer, StudyEvent.LOCATION_FIELD, value.getLocation());
+        BsonFields.writeEnum(writer, StudyEvent.EVENT_TYPE_FIELD, value.getEventType());
+        BsonFields.writeString(writer, StudyEvent.DESCRIPTION_FIELD, value.getDescription());
+        BsonFields.writeString(writer, StudyEvent.CHANNEL_ID_FIELD, value.getChannelId());
+        BsonFields.writeStrings(
+                writer, StudyEvent.ATTACHMENTS_FIELD, value.getAttachmentFiles());
+        writer.writeInt32(StudyEvent.MAX_ATTENDEES_FIELD, value.getMaxAttendees());
+        writeAttendees(
+                writer, StudyEvent.ATTENDEES_FIELD, value.getAttendeesList(), encoderContext);
+        writer.writeInt32(StudyEvent.ATTENDEE_COUNT_FIELD, value.getAttendeeCount());
+        writer.writeInt32(StudyEvent.MAX_WAITLIST_FIELD, value.getMaxWaitlListAllowed());
+        writeAttendees(
+                writer,
+                StudyEvent.WAITLIST_FIELD,
+                value.getWaitListAttendeesList(),
+                encoderContext);
+        writer.writeEndDocument();
+    }
+
+    private void writeAttendees(
+            BsonWriter writer, String name, AttendeeSet attendees, EncoderContext encoderContext) {
+        if (attendees != null) {
+            writer.writeName(name);
+            attendeeSetCodec.encode(writer, attendees, encoderContext);
+        }
+    }
+
+    @Override
+    public StudyEvent decode(BsonReader reader, DecoderContext decoderContext) {
+        StudyEvent studyEvent = new StudyEvent();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case Model.ID_FIELD:
+                    studyEvent.setId(reader.readObjectId());
+                    break;
+                case StudyEvent.TITLE_FIELD:
+                    studyEvent.setTitle(reader.readString());
+                    break;
+                case StudyEvent.START_FIELD:
+                    studyEvent.setStart(BsonFields.readDate(reader));
+                    break;
+                case StudyEvent.END_FIELD:
+                    studyEvent.setEnd(BsonFields.readDate(reader));
+                    break;
+                case StudyEvent.ORGANIZER_FIELD:
+                    studyEvent.setOrganizer(reader.readString());
+                    break;
+                case StudyEvent.LOCATION_FIELD:
+                    studyEvent.setLocation(BsonFields.readEnum(reader, name, LOCATIONS));
+                    break;
+                case StudyEvent.EVENT_TYPE_FIELD:
+                    studyEvent.setEventType(BsonFields.readEnum(reader, name, EVENT_TYPES));
+                    break;
+                case StudyEvent.DESCRIPTION_FIELD:
+                    studyEvent.setDescription(reader.readString());
+                    break;
+                case StudyEvent.CHANNEL_ID_FIELD:
+                    studyEvent.setChannelId(reader.readString());
+                    break;
+                case StudyEvent.ATTACHMENTS_FIELD:
+                    studyEvent.setAttachmentFiles(BsonFields.readStrings(reader));
+                    break;
+                case StudyEvent.MAX_ATTENDEES_FIELD:
+                    studyEvent.setMaxAttendees(BsonFields.readInt(reader, name));
+                    break;
+                case StudyEvent.ATTENDEES_FIELD:
+                    studyEvent.setAttendeesList(attendeeSetCodec.decode(reader, decoderContext));
+                    break;
+                case StudyEvent.ATTENDEE_COUNT_FIELD:
+                    studyEvent.setAttendeeCount(BsonFields.readInt(reader, name));
+                    break;
+                case StudyEvent.MAX_WAITLIST_FIELD:
+                    studyEvent.setMaxWaitlListAllowed(BsonFields.readInt(reader, name));
+                    break;
+                case StudyEvent.WAITLIST_FIELD:
+                    studyEvent.setWaitListAttendeesList(
+                            attendeeSetCodec.decode(reader, decoderContext));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.readEndDocument();
+        return studyEvent;
+    }
+
+    @Override
+    public Class<StudyEvent> getEncoderClass() {
+        return StudyEvent.class;
+    }
+}
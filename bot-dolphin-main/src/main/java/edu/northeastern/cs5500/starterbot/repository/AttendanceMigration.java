@@ -0,0 +1,46 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Attendance;
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+/**
+ * Brings the stored RSVPs in line with ATTENDANCE_STORE_ENABLED before any interaction is handled.
+ * Turning the store on moves RSVPs into it and turning it off moves them back, so that neither
+ * direction loses any. Either way the attendee counts are recounted, since an RSVP can be stored
+ * without being counted if the process stops in between.
+ *
+ * <p>Before that, attendees stored as strings are converted to numbers once, so that queries can
+ * compare them as numbers.
+ */
+@Singleton
+public class AttendanceMigration {
+
+    @Inject MongoDBRepository<StudyEvent> studyEventRepository;
+    @Inject Provider<MongoDBRepository<Attendance>> attendanceRepository;
+    @Inject @Nullable AttendanceStore attendanceStore;
+
+    @Inject
+    AttendanceMigration() {}
+
+    /** Runs at startup; any failure should stop the bot rather than let it use wrong counts. */
+    public void run() {
+        studyEventRepository.runOnce(
+                "convertAttendeesToLong",
+                () ->
+                        studyEventRepository.convertArrayElementsToLong(
+                                StudyEvent.ATTENDEES_FIELD, StudyEvent.WAITLIST_FIELD));
+        if (attendanceStore != null) {
+            attendanceStore.moveAttendeesFrom(studyEventRepository);
+            attendanceStore.recountAttendees(studyEventRepository);
+        } else {
+            new AttendanceStore(attendanceRepository.get()).moveAttendeesTo(studyEventRepository);
+            // The attendee count is checked on every RSVP, so it must match the attendees
+            studyEventRepository.countArrayElements(
+                    StudyEvent.ATTENDEES_FIELD, StudyEvent.ATTENDEE_COUNT_FIELD);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Attendance;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/**
+ * Keeps RSVPs in their own collection, one {@link Attendance} per event and user, rather than in
+ * the attendee array of each {@link StudyEvent}. An RSVP then writes a small document instead of
+ * rewriting the event, and the unique index on the event and user makes it idempotent.
+ *
+ * <p>The store only records who attends. Callers keep {@link StudyEvent#getAttendeeCount} in step,
+ * so that capacity can still be checked on the event alone.
+ */
+@Slf4j
+public class AttendanceStore {
+
+    private final GenericRepository<Attendance> repository;
+
+    /**
+     * @param repository the attendance collection, which must reject a second RSVP by the same
+     *     user to the same event from {@link GenericRepository#addIfAbsent}
+     */
+    public AttendanceStore(@Nonnull GenericRepository<Attendance> repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param eventId the id of the event
+     * @param userId the Discord id of the user
+     * @return true if the RSVP was added, false if the user had already RSVP'd
+     */
+    public boolean add(@Nonnull ObjectId eventId, long userId) {
+        return repository.addIfAbsent(
+                Attendance.builder().eventId(eventId).userId(userId).build());
+    }
+
+    /**
+     * @param eventId the id of the event
+     * @param userId the Discord id of the user
+     * @return true if the RSVP was removed, false if the user had not RSVP'd
+     */
+    public boolean remove(@Nonnull ObjectId eventId, long userId) {
+        return repository.findOneAndDelete(byEventAndUser(eventId, userId)) != null;
+    }
+
+    /**
+     * @param eventId the id of the event
+     * @param userId the Discord id of the user
+     * @return true if the user has RSVP'd to the event
+     */
+    public boolean contains(@Nonnull ObjectId eventId, long userId) {
+        return !repository.find(byEventAndUser(eventId, userId).limit(1)).isEmpty();
+    }
+
+    /**
+     * @param eventId the id of the event
+     * @return the Discord ids of the users who RSVP'd to the event
+     */
+    public AttendeeSet attendees(@Nonnull ObjectId eventId) {
+        try (Stream<Attendance> attendances = repository.stream(byEvent(eventId))) {
+            return AttendeeSet.of(attendances.mapToLong(Attendance::getUserId).toArray());
+        }
+    }
+
+    /**
+     * @param userId the Discord id of the user
+     * @return the ids of the events the user has RSVP'd to
+     */
+    public List<ObjectId> eventIds(long userId) {
+        return repository
+                .find(
+                        Query.<Attendance>where()
+                                .eq(Attendance.USER_ID_FIELD, Attendance::getUserId, userId))
+                .stream()
+                .map(Attendance::getEventId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param userId the Discord id of the user
+     * @param eventIds the ids of the events to check
+     * @return those of the events the user has RSVP'd to
+     */
+    public Set<ObjectId> attending(long userId, @Nonnull Collection<ObjectId> eventIds) {
+        return repository
+                .find(
+                        Query.<Attendance>where()
+                                .in(Attendance.EVENT_ID_FIELD, Attendance::getEventId, eventIds)
+                                .eq(Attendance.USER_ID_FIELD, Attendance::getUserId, userId))
+                .stream()
+                .map(Attendance::getEventId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Removes every RSVP to an event, once the event itself is deleted.
+     *
+     * @param eventId the id of the deleted event
+     */
+    public void removeAll(@Nonnull ObjectId eventId) {
+        try (Stream<Attendance> attendances = repository.stream(byEvent(eventId))) {
+            repository.deleteAll(attendances.map(Attendance::getId).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Moves the attendees still held in event documents, from before the store was used, into the
+     * store, and sets the attendee count of each event they came from. Running it again changes
+     * nothing.
+     *
+     * @param studyEventRepository the events to move attendees out of
+     */
+    public void moveAttendeesFrom(@Nonnull GenericRepository<StudyEvent> studyEventRepository) {
+        List<StudyEvent> eventsWithAttendees = new ArrayList<>();
+        try (Stream<StudyEvent> events = studyEventRepository.stream(Query.where())) {
+            events.filter(event -> event.getAttendeesList() != null)
+                    .filter(event -> !event.getAttendeesList().isEmpty())
+                    .forEach(eventsWithAttendees::add);
+        }
+
+        for (StudyEvent event : eventsWithAttendees) {
+            // Users already in the store are rejected as duplicates, which leaves them as they are
+            repository.addAll(
+                    event.getAttendeesList().ids()
+                            .mapToObj(
+                                    userId ->
+                                            Attendance.builder()
+                                                    .eventId(event.getId())
+                                                    .userId(userId)
+                                                    .build())
+                            .collect(Collectors.toList()));
+            studyEventRepository.patch(
+                    event.getId(),
+                    Update.<StudyEvent>of()
+                            .set(
+                                    StudyEvent.ATTENDEES_FIELD,
+                                    StudyEvent::setAttendeesList,
+                                    AttendeeSet.of())
+                            .set(
+                                    StudyEvent.ATTENDEE_COUNT_FIELD,
+                                    StudyEvent::setAttendeeCount,
+                                    attendees(event.getId()).size()));
+        }
+        if (!eventsWithAttendees.isEmpty()) {
+            log.info(
+                    "Moved the attendees of {} events into the attendance collection",
+                    eventsWithAttendees.size());
+        }
+    }
+
+    /**
+     * Sets the attendee count of every event to its number of RSVPs in the store. An RSVP added
+     * just before the process stopped, and so never counted, is then counted.
+     *
+     * @param studyEventRepository the events to recount
+     */
+    public void recountAttendees(@Nonnull GenericRepository<StudyEvent> studyEventRepository) {
+        Map<ObjectId, Integer> counts = new HashMap<>();
+        try (Stream<Attendance> attendances = repository.stream(Query.where())) {
+            attendances.forEach(
+                    attendance -> counts.merge(attendance.getEventId(), 1, Integer::sum));
+        }
+
+        List<StudyEvent> miscounted = new ArrayList<>();
+        try (Stream<StudyEvent> events = studyEventRepository.stream(Query.where())) {
+            events.filter(
+                            event ->
+                                    event.getAttendeeCount()
+                                            != counts.getOrDefault(event.getId(), 0))
+                    .forEach(miscounted::add);
+        }
+
+        for (StudyEvent event : miscounted) {
+            // Leaves alone an event whose count an RSVP has changed since it was read
+            studyEventRepository.findOneAndUpdate(
+                    Query.<StudyEvent>byId(event.getId())
+                            .eq(
+                                    StudyEvent.ATTENDEE_COUNT_FIELD,
+                                    StudyEvent::getAttendeeCount,
+                                    event.getAttendeeCount()),
+                    Update.<StudyEvent>of()
+                            .set(
+                                    StudyEvent.ATTENDEE_COUNT_FIELD,
+                                    StudyEvent::setAttendeeCount,
+                                    counts.getOrDefault(event.getId(), 0)));
+        }
+        if (!miscounted.isEmpty()) {
+            log.info("Recounted the attendees of {} events", miscounted.size());
+        }
+    }
+
+    /**
+     * Moves every RSVP in the store back into the attendee array of its event, once the store is
+     * no longer used, and empties the store. Running it again changes nothing. The caller then
+     * recounts the attendees from the arrays.
+     *
+     * @param studyEventRepository the events to move attendees into
+     */
+    public void moveAttendeesTo(@Nonnull GenericRepository<StudyEvent> studyEventRepository) {
+        Map<ObjectId, List<Attendance>> attendancesByEvent = new HashMap<>();
+        try (Stream<Attendance> attendances = repository.stream(Query.where())) {
+            attendances.forEach(
+                    attendance ->
+                            attendancesByEvent
+                                    .computeIfAbsent(
+                                            attendance.getEventId(), id -> new ArrayList<>())
+                                    .add(attendance));
+        }
+
+        for (Map.Entry<ObjectId, List<Attendance>> entry : attendancesByEvent.entrySet()) {
+            // The RSVPs to an event deleted since are only removed
+            studyEventRepository.patch(
+                    entry.getKey(),
+                    Update.<StudyEvent>of()
+                            .addEachToSet(
+                                    StudyEvent.ATTENDEES_FIELD,
+                                    StudyEvent::getAttendeesList,
+                                    StudyEvent::setAttendeesList,
+                                    entry.getValue().stream()
+                                            .map(Attendance::getUserId)
+                                            .collect(Collectors.toList()),
+                                    AttendeeSet::withAttendees));
+            repository.deleteAll(
+                    entry.getValue().stream()
+                            .map(Attendance::getId)
+                            .collect(Collectors.toList()));
+        }
+        if (!attendancesByEvent.isEmpty()) {
+            log.info(
+                    "Moved the attendees of {} events out of the attendance collection",
+                    attendancesByEvent.size());
+        }
+    }
+
+    private static Query<Attendance> byEvent(@Nonnull ObjectId eventId) {
+        return Query.<Attendance>where()
+                .eq(Attendance.EVENT_ID_FIELD, Attendance::getEventId, eventId);
+    }
+
+    private static Query<Attendance> byEventAndUser(@Nonnull ObjectId eventId, long userId) {
+        return byEvent(eventId).eq(Attendance.USER_ID_FIELD, Attendance::getUserId, userId);
+    }
+}
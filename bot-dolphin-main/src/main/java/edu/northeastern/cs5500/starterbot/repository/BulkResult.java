@@ -0,0 +1,25 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.List;
+import lombok.Value;
+
+/**
+ * The outcome of a bulk write through {@link GenericRepository}. Items are written independently,
+ * so some may have been written even though others were rejected.
+ */
+@Value
+public class BulkResult {
+    /** The number of items added, replaced or deleted. Items whose id was not found are not. */
+    int writtenCount;
+
+    /** The positions, in the order the items were given, of the items that were rejected. */
+    List<Integer> failedIndexes;
+
+    /**
+     * @param index the position of an item, in the order the items were given
+     * @return true if the item was rejected
+     */
+    public boolean isFailed(int index) {
+        return failedIndexes.contains(index);
+    }
+}
@@ -0,0 +1,221 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.northeastern.cs5500.starterbot.model.Model;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * A read-through cache of items by id in front of another {@link GenericRepository}.
+ *
+ * <p>Lookups by id are served from memory when possible. The cache is bounded both in size and in
+ * time since each entry was written. Caffeine admits new entries by their estimated frequency
+ * (W-TinyLFU), so a burst of one-off lookups does not evict hot events. Every write goes to the
+ * underlying repository first, then drops the cached entry, so concurrent writes can never leave
+ * an older version cached. Queries are not cached. Each entry lives for at most the time bound,
+ * which also bounds how stale it can be when another process writes to the same database.
+ *
+ * <p>Items are mutable, so every lookup returns a copy of the cached item; a caller changing it
+ * does not change what other callers and threads are given.
+ *
+ * <p>Hits, misses and evictions are published as OpenTelemetry counters and are also available
+ * from {@link #stats()}.
+ */
+public class CachingRepository<T extends Model> implements GenericRepository<T> {
+
+    private static final AttributeKey<String> REPOSITORY = AttributeKey.stringKey("repository");
+
+    private final GenericRepository<T> repository;
+    private final Cache<ObjectId, T> cache;
+    private final UnaryOperator<T> copier;
+
+    /**
+     * @param repository the repository to cache
+     * @param name the name the counters are reported under
+     * @param maximumSize the maximum number of cached items
+     * @param expireAfterWrite how long an item stays cached after it was read or written
+     * @param copier returns a copy of an item that shares none of its mutable state
+     */
+    public CachingRepository(
+            @Nonnull GenericRepository<T> repository,
+            @Nonnull String name,
+            long maximumSize,
+            @Nonnull Duration expireAfterWrite,
+            @Nonnull UnaryOperator<T> copier) {
+        this.repository = repository;
+        this.copier = copier;
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build();
+        registerCounters(name);
+    }
+
+    /** @return a snapshot of the hit, miss and eviction counts */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void registerCounters(@Nonnull String name) {
+        Meter meter = GlobalOpenTelemetry.getMeter("cs5500-s23-starterbot");
+        Attributes attributes = Attributes.of(REPOSITORY, name);
+        registerCounter(meter, "repository.cache.hits", attributes, CacheStats::hitCount);
+        registerCounter(meter, "repository.cache.misses", attributes, CacheStats::missCount);
+        registerCounter(
+                meter, "repository.cache.evictions", attributes, CacheStats::evictionCount);
+    }
+
+    private void registerCounter(
+            @Nonnull Meter meter,
+            @Nonnull String counterName,
+            @Nonnull Attributes attributes,
+            @Nonnull ToLongFunction<CacheStats> count) {
+        meter.counterBuilder(counterName)
+                .buildWithCallback(
+                        measurement ->
+                                measurement.record(count.applyAsLong(cache.stats()), attributes));
+    }
+
+    @Nullable
+    @Override
+    public T get(@Nonnull ObjectId id) {
+        T cached = cache.get(id, repository::get);
+        return cached == null ? null : copier.apply(cached);
+    }
+
+    @Override
+    public T add(@Nonnull T item) {
+        T added = repository.add(item);
+        cache.invalidate(added.getId());
+        return added;
+    }
+
+    @Override
+    public boolean addIfAbsent(@Nonnull T item) {
+        // Only stored items are cached, so adding one cannot make an entry stale
+        return repository.addIfAbsent(item);
+    }
+
+    @Override
+    public T update(@Nonnull T item) {
+        try {
+            return repository.update(item);
+        } finally {
+            cache.invalidate(item.getId());
+        }
+    }
+
+    @Override
+    public void delete(@Nonnull ObjectId id) {
+        try {
+            repository.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public BulkResult addAll(@Nonnull Collection<T> items) {
+        try {
+            return repository.addAll(items);
+        } finally {
+            for (T item : items) {
+                if (item.getId() != null) {
+                    cache.invalidate(item.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public BulkResult updateAll(@Nonnull Collection<T> items) {
+        try {
+            return repository.updateAll(items);
+        } finally {
+            for (T item : items) {
+                cache.invalidate(item.getId());
+            }
+        }
+    }
+
+    @Override
+    public BulkResult deleteAll(@Nonnull Collection<ObjectId> ids) {
+        try {
+            return repository.deleteAll(ids);
+        } finally {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return repository.getAll();
+    }
+
+    @Override
+    public Collection<T> find(@Nonnull Query<T> query) {
+        return repository.find(query);
+    }
+
+    @Override
+    public <R> List<R> find(@Nonnull Query<T> query, @Nonnull Projection<T, R> projection) {
+        return repository.find(query, projection);
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query) {
+        return repository.stream(query);
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query, int batchSize) {
+        return repository.stream(query, batchSize);
+    }
+
+    @Override
+    public T findOneAndUpdate(@Nonnull Query<T> query, @Nonnull Update<T> update) {
+        T updated = repository.findOneAndUpdate(query, update);
+        if (updated != null) {
+            cache.invalidate(updated.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public T findOneAndDelete(@Nonnull Query<T> query) {
+        T deleted = repository.findOneAndDelete(query);
+        if (deleted != null) {
+            cache.invalidate(deleted.getId());
+        }
+        return deleted;
+    }
+
+    @Override
+    public T patch(@Nonnull ObjectId id, @Nonnull Update<T> update) {
+        try {
+            return repository.patch(id, update);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+}
@@ -2,6 +2,8 @@ package edu.northeastern.cs5500.starterbot.repository;
 
 import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.bson.types.ObjectId;
 
@@ -11,11 +13,119 @@ public interface GenericRepository<T> {
 
     public T add(@Nonnull T item);
 
+    /**
+     * Adds an item unless a stored item has the same id or the same value of a unique indexed
+     * field. The check and the insert are one operation, so concurrent callers cannot both add.
+     *
+     * @param item the item to add; an id is assigned if it has none
+     * @return true if the item was added, false if it would have been a duplicate
+     */
+    public boolean addIfAbsent(@Nonnull T item);
+
     public T update(@Nonnull T item);
 
     public void delete(@Nonnull ObjectId id);
 
+    /**
+     * Adds several items in as few round trips as possible. A rejected item, e.g. one that has the
+     * id or unique key of a stored item, does not stop the others.
+     *
+     * @param items the items to add; ids are assigned to those without one
+     * @return how many items were added, and which were rejected
+     */
+    public BulkResult addAll(@Nonnull Collection<T> items);
+
+    /**
+     * Replaces several stored items, matched by id, in as few round trips as possible. Items with
+     * no stored counterpart are skipped.
+     *
+     * @param items the new versions of the items
+     * @return how many items were replaced, and which were rejected
+     */
+    public BulkResult updateAll(@Nonnull Collection<T> items);
+
+    /**
+     * Deletes several items by id in as few round trips as possible. Ids with no stored item are
+     * skipped.
+     *
+     * @param ids the ids of the items to delete
+     * @return how many items were deleted, and which deletes were rejected
+     */
+    public BulkResult deleteAll(@Nonnull Collection<ObjectId> ids);
+
+    /**
+     * Reads every item into memory at once. Use {@link #stream} for collections that can grow.
+     *
+     * @return all the items
+     */
     public Collection<T> getAll();
 
+    /**
+     * Finds the items matching a query, in the query's sort order. They are all read into memory,
+     * so this suits queries with a limit or few matches; use {@link #stream} for the others.
+     *
+     * @param query the criteria, sort keys and limit to apply
+     * @return the matching items
+     */
+    public Collection<T> find(@Nonnull Query<T> query);
+
+    /**
+     * Finds the items matching a query and returns only a projection of each.
+     *
+     * @param query the criteria, sort keys and limit to apply
+     * @param projection the read model to build from each matching item
+     * @return the projected items, in the query's sort order
+     */
+    public <R> List<R> find(@Nonnull Query<T> query, @Nonnull Projection<T, R> projection);
+
+    /**
+     * Streams the items matching a query without materializing them all at once, using the
+     * repository's default batch size. The stream holds a database cursor, so callers must close
+     * it, e.g. with try-with-resources.
+     *
+     * @param query the criteria, sort keys and limit to apply
+     * @return the matching items, in the query's sort order
+     */
+    public Stream<T> stream(@Nonnull Query<T> query);
+
+    /**
+     * Streams the items matching a query, fetching at most batchSize items per round trip. The
+     * stream must be closed.
+     *
+     * @param query the criteria, sort keys and limit to apply
+     * @param batchSize the number of items to fetch per round trip
+     * @return the matching items, in the query's sort order
+     */
+    public Stream<T> stream(@Nonnull Query<T> query, int batchSize);
+
+    /**
+     * Atomically applies an update to the first item, in the query's sort order, that matches a
+     * query. The match and the update happen as one operation, so the query can guard the update.
+     *
+     * @param query the condition the item must satisfy
+     * @param update the changes to make
+     * @return the item after the update, or null if no item matched
+     */
+    public T findOneAndUpdate(@Nonnull Query<T> query, @Nonnull Update<T> update);
+
+    /**
+     * Atomically deletes the first item, in the query's sort order, that matches a query. Of
+     * several concurrent callers, only one gets the item back.
+     *
+     * @param query the condition the item must satisfy
+     * @return the item as it was before it was deleted, or null if no item matched
+     */
+    public T findOneAndDelete(@Nonnull Query<T> query);
+
+    /**
+     * Changes only the fields named by an update, without reading or rewriting the rest of the
+     * item.
+     *
+     * @param id the id of the item to change
+     * @param update the changes to make
+     * @return the item after the update, or null if no item has the id
+     */
+    public T patch(@Nonnull ObjectId id, @Nonnull Update<T> update);
+
     public long count();
 }
@@ -1,60 +1,649 @@
 package edu.northeastern.cs5500.starterbot.repository;
 
+import com.google.common.collect.Iterables;
 import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
 import edu.northeastern.cs5500.starterbot.model.Model;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.inject.Inject;
-import javax.inject.Singleton;
 import org.bson.types.ObjectId;
 
+/**
+ * A thread-safe {@link GenericRepository} held in memory, for tests and load testing.
+ *
+ * <p>Items are spread by id over lock stripes, each a plain map guarded by its own read-write
+ * lock, so writes to different items rarely contend. Reads of the whole collection hold every
+ * stripe's read lock while they copy it, so they see a consistent snapshot and are unaffected by
+ * later writes.
+ *
+ * <p>The repository never changes a stored item in place. {@link #findOneAndUpdate} and {@link
+ * #patch} apply their update to a copy, made by the copier the repository is given, and store that
+ * instead. Items already handed to readers keep the state they were read in, and queries can
+ * evaluate them without holding a lock.
+ *
+ * <p>Secondary indexes can be declared with {@link #withIndex}, {@link #withEnumIndex} and {@link
+ * #withRangeIndex}. Queries with an equality or {@code in} criterion on an indexed field then only
+ * visit the items the index lists, rather than every item, and queries that bound a range-indexed
+ * field scan just that range, already in order. Indexes are kept up to date by every write through
+ * the repository; items changed in place by other means must be written back with {@link
+ * #update}. Unique indexes, declared with {@link #withUniqueIndex}, are only checked by {@link
+ * #addIfAbsent} and {@link #addAll}.
+ *
+ * <p>Bulk writes take every stripe's write lock once and apply all their items in one pass.
+ */
 @ExcludeFromJacocoGeneratedReport
-@Singleton
 public class InMemoryRepository<T extends Model> implements GenericRepository<T> {
 
-    HashMap<ObjectId, T> collection;
+    static final int STRIPES = 16;
 
-    @Inject
-    public InMemoryRepository() {
-        collection = new HashMap<>();
+    private static final class Stripe<T> {
+        final HashMap<ObjectId, T> items = new HashMap<>();
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+
+    private final List<Stripe<T>> stripes;
+    private final Map<String, SecondaryIndex<T>> indexes = new ConcurrentHashMap<>();
+    private final UnaryOperator<T> copier;
+
+    /**
+     * @param copier copies an item, so that changing the copy never changes the original, e.g.
+     *     {@code StudyEvent::copy}
+     */
+    public InMemoryRepository(@Nonnull UnaryOperator<T> copier) {
+        this.copier = copier;
+        stripes = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new Stripe<>());
+        }
+    }
+
+    /**
+     * Declares a hash index on a field, for queries that compare it for equality.
+     *
+     * @param field the stored field name, as used in {@link Query}
+     * @param keyExtractor reads the field from an item
+     * @return this repository
+     */
+    public InMemoryRepository<T> withIndex(
+            @Nonnull String field, @Nonnull Function<T, ?> keyExtractor) {
+        return addIndex(field, SecondaryIndex.hash(keyExtractor));
+    }
+
+    /**
+     * Declares an index on an enum field, partitioning the items by its constants.
+     *
+     * @param field the stored field name, as used in {@link Query}
+     * @param enumClass the type of the field
+     * @param keyExtractor reads the field from an item
+     * @return this repository
+     */
+    public <E extends Enum<E>> InMemoryRepository<T> withEnumIndex(
+            @Nonnull String field,
+            @Nonnull Class<E> enumClass,
+            @Nonnull Function<T, E> keyExtractor) {
+        return addIndex(field, SecondaryIndex.forEnum(enumClass, keyExtractor));
+    }
+
+    /**
+     * Declares an ordered index on a field, for queries that bound it or sort by it. It also
+     * answers equality criteria like a hash index.
+     *
+     * @param field the stored field name, as used in {@link Query}
+     * @param keyExtractor reads the field from an item
+     * @return this repository
+     */
+    public <V extends Comparable<? super V>> InMemoryRepository<T> withRangeIndex(
+            @Nonnull String field, @Nonnull Function<T, V> keyExtractor) {
+        return addIndex(field, SecondaryIndex.range(keyExtractor));
+    }
+
+    /**
+     * Declares a unique index on a field, which {@link #addIfAbsent} and {@link #addAll} check
+     * before adding an item. It also answers equality criteria like a hash index.
+     *
+     * @param field the stored field name, as used in {@link Query}
+     * @param keyExtractor reads the field from an item
+     * @return this repository
+     */
+    public InMemoryRepository<T> withUniqueIndex(
+            @Nonnull String field, @Nonnull Function<T, ?> keyExtractor) {
+        return addIndex(field, SecondaryIndex.unique(keyExtractor));
+    }
+
+    private InMemoryRepository<T> addIndex(
+            @Nonnull String field, @Nonnull SecondaryIndex<T> index) {
+        lockAllForWriting();
+        try {
+            for (Stripe<T> stripe : stripes) {
+                stripe.items.forEach(index::add);
+            }
+            indexes.put(field, index);
+        } finally {
+            unlockAllForWriting();
+        }
+        return this;
+    }
+
+    /** Write-locks every stripe, in stripe order so that concurrent callers cannot deadlock. */
+    private void lockAllForWriting() {
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.writeLock().lock();
+        }
+    }
+
+    private void unlockAllForWriting() {
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /** Updates every index for an item. Called with the item's stripe write-locked. */
+    private void reindex(@Nonnull ObjectId id, @Nullable T item) {
+        for (SecondaryIndex<T> index : indexes.values()) {
+            index.remove(id);
+            if (item != null) {
+                index.add(id, item);
+            }
+        }
+    }
+
+    private Stripe<T> stripeFor(@Nonnull ObjectId id) {
+        return stripes.get(Math.floorMod(id.hashCode(), STRIPES));
     }
 
     @Nullable
     public T get(@Nonnull ObjectId id) {
-        return collection.get(id);
+        Stripe<T> stripe = stripeFor(id);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.items.get(id);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
     }
 
-    @Override
-    public T add(@Nonnull T item) {
+    private static <T extends Model> ObjectId assignId(@Nonnull T item) {
         ObjectId id = item.getId();
         if (id == null) {
             id = new ObjectId();
             item.setId(id);
         }
-        collection.put(id, item);
+        return id;
+    }
+
+    @Override
+    public T add(@Nonnull T item) {
+        put(assignId(item), item);
         return item;
     }
 
+    @Override
+    public boolean addIfAbsent(@Nonnull T item) {
+        ObjectId id = assignId(item);
+        Stripe<T> stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            return insert(id, item);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores an item unless its id is taken. Reserves the item's key in every unique index before
+     * storing it, releasing the keys already reserved if one is held by another item. Called with
+     * the item's stripe write-locked.
+     *
+     * @return true if the item was stored
+     */
+    private boolean insert(@Nonnull ObjectId id, @Nonnull T item) {
+        Stripe<T> stripe = stripeFor(id);
+        if (stripe.items.containsKey(id)) {
+            return false;
+        }
+        List<SecondaryIndex.UniqueIndex<T>> claimed = new ArrayList<>();
+        for (SecondaryIndex<T> index : indexes.values()) {
+            if (!(index instanceof SecondaryIndex.UniqueIndex)) {
+                continue;
+            }
+            SecondaryIndex.UniqueIndex<T> unique = (SecondaryIndex.UniqueIndex<T>) index;
+            if (!unique.claim(id, item)) {
+                for (SecondaryIndex.UniqueIndex<T> release : claimed) {
+                    release.release(id, item);
+                }
+                return false;
+            }
+            claimed.add(unique);
+        }
+        stripe.items.put(id, item);
+        reindex(id, item);
+        return true;
+    }
+
     @Override
     public T update(@Nonnull T item) {
-        collection.put(item.getId(), item);
+        put(item.getId(), item);
         return item;
     }
 
+    private void put(@Nonnull ObjectId id, @Nonnull T item) {
+        Stripe<T> stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.items.put(id, item);
+            reindex(id, item);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
     @Override
     public void delete(@Nonnull ObjectId id) {
-        collection.remove(id);
+        Stripe<T> stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.items.remove(id);
+            reindex(id, null);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
     }
 
+    @Override
+    public BulkResult addAll(@Nonnull Collection<T> items) {
+        int written = 0;
+        List<Integer> failed = new ArrayList<>();
+        lockAllForWriting();
+        try {
+            int index = 0;
+            for (T item : items) {
+                if (insert(assignId(item), item)) {
+                    written++;
+                } else {
+                    failed.add(index);
+                }
+                index++;
+            }
+        } finally {
+            unlockAllForWriting();
+        }
+        return new BulkResult(written, failed);
+    }
+
+    @Override
+    public BulkResult updateAll(@Nonnull Collection<T> items) {
+        int written = 0;
+        lockAllForWriting();
+        try {
+            for (T item : items) {
+                ObjectId id = item.getId();
+                Stripe<T> stripe = stripeFor(id);
+                if (stripe.items.containsKey(id)) {
+                    stripe.items.put(id, item);
+                    reindex(id, item);
+                    written++;
+                }
+            }
+        } finally {
+            unlockAllForWriting();
+        }
+        return new BulkResult(written, List.of());
+    }
+
+    @Override
+    public BulkResult deleteAll(@Nonnull Collection<ObjectId> ids) {
+        int written = 0;
+        lockAllForWriting();
+        try {
+            for (ObjectId id : ids) {
+                if (stripeFor(id).items.remove(id) != null) {
+                    reindex(id, null);
+                    written++;
+                }
+            }
+        } finally {
+            unlockAllForWriting();
+        }
+        return new BulkResult(written, List.of());
+    }
+
+    /** @return a snapshot of every item, unaffected by later writes */
     @Override
     public Collection<T> getAll() {
-        return collection.values();
+        return select(Query.where(), 0);
+    }
+
+    /**
+     * Reads the items matching a query, in its sort order, while holding every stripe's read lock.
+     * The locks are taken in stripe order so that concurrent reads cannot deadlock, and the result
+     * is a snapshot unaffected by later writes.
+     *
+     * <p>The {@link #plan} narrows the items visited. When it visits them in the query's sort
+     * order, the read stops as soon as enough matches are found and nothing is sorted.
+     *
+     * @param query the query to answer
+     * @param limit the maximum number of results, or 0 for no limit
+     * @return the matching items
+     */
+    private List<T> select(@Nonnull Query<T> query, int limit) {
+        List<T> matches = new ArrayList<>();
+        Plan plan;
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.readLock().lock();
+        }
+        try {
+            plan = plan(query, limit);
+            if (plan == null) {
+                for (Stripe<T> stripe : stripes) {
+                    for (T item : stripe.items.values()) {
+                        if (query.matches(item)) {
+                            matches.add(item);
+                        }
+                    }
+                }
+            } else {
+                for (ObjectId id : plan.ids) {
+                    T item = stripeFor(id).items.get(id);
+                    if (item != null && query.matches(item)) {
+                        matches.add(item);
+                        if (plan.ordered && matches.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (Stripe<T> stripe : stripes) {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        Comparator<T> comparator = query.comparator();
+        if (comparator != null && (plan == null || !plan.ordered)) {
+            matches.sort(comparator);
+        }
+        if (limit > 0 && matches.size() > limit) {
+            return new ArrayList<>(matches.subList(0, limit));
+        }
+        return matches;
+    }
+
+    /** The ids a query visits, and whether they are visited in the query's sort order. */
+    private static final class Plan {
+        final Iterable<ObjectId> ids;
+        final boolean ordered;
+
+        Plan(@Nonnull Iterable<ObjectId> ids, boolean ordered) {
+            this.ids = ids;
+            this.ordered = ordered;
+        }
+    }
+
+    /**
+     * Chooses how to answer a query from the declared indexes. A range scan in the query's sort
+     * order is preferred when the query is limited, since it can stop early; otherwise the
+     * equality or {@code in} criterion with the fewest matching ids is used, then any range scan.
+     *
+     * @param query the query to answer
+     * @param limit the maximum number of results, or 0 for no limit
+     * @return the plan, or null to visit every item
+     */
+    @Nullable
+    private Plan plan(@Nonnull Query<T> query, int limit) {
+        Plan rangePlan = rangePlan(query);
+        if (rangePlan != null && rangePlan.ordered && limit > 0) {
+            return rangePlan;
+        }
+        Plan hashPlan = hashPlan(query);
+        return hashPlan != null ? hashPlan : rangePlan;
+    }
+
+    /** Picks the indexed equality or {@code in} criterion with the fewest matching ids. */
+    @Nullable
+    private Plan hashPlan(@Nonnull Query<T> query) {
+        List<Set<ObjectId>> best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (Query.Criterion<T> criterion : query.getCriteria()) {
+            SecondaryIndex<T> index =
+                    criterion.getField() == null ? null : indexes.get(criterion.getField());
+            if (index == null) {
+                continue;
+            }
+
+            List<Set<ObjectId>> idSets = new ArrayList<>();
+            if (criterion.getOperator() == Query.Operator.EQ) {
+                idSets.add(index.lookup(criterion.getValue()));
+            } else if (criterion.getOperator() == Query.Operator.IN) {
+                for (Object value : new HashSet<>((Collection<?>) criterion.getValue())) {
+                    idSets.add(index.lookup(value));
+                }
+            } else {
+                continue;
+            }
+
+            int size = idSets.stream().mapToInt(Set::size).sum();
+            if (size < bestSize) {
+                best = idSets;
+                bestSize = size;
+            }
+        }
+        // The sets are disjoint, as each item has a single key
+        return best == null ? null : new Plan(Iterables.concat(best), false);
+    }
+
+    /**
+     * Builds a scan of a range index from the bounds the query puts on its field, preferring an
+     * index whose order is the query's sort order.
+     */
+    @Nullable
+    private Plan rangePlan(@Nonnull Query<T> query) {
+        Plan found = null;
+        for (Map.Entry<String, SecondaryIndex<T>> entry : indexes.entrySet()) {
+            if (!(entry.getValue() instanceof SecondaryIndex.RangeIndex)) {
+                continue;
+            }
+            String field = entry.getKey();
+            Object lower = null;
+            boolean lowerInclusive = false;
+            Object upper = null;
+            boolean upperInclusive = false;
+            for (Query.Criterion<T> criterion : query.getCriteria()) {
+                Object value = criterion.getValue();
+                if (!field.equals(criterion.getField()) || value == null) {
+                    continue;
+                }
+                Query.Operator operator = criterion.getOperator();
+                boolean inclusive = operator != Query.Operator.GT && operator != Query.Operator.LT;
+                if (operator == Query.Operator.EQ
+                        || operator == Query.Operator.GT
+                        || operator == Query.Operator.GTE) {
+                    int comparison = lower == null ? 1 : compare(value, lower);
+                    if (comparison > 0 || (comparison == 0 && !inclusive)) {
+                        lower = value;
+                        lowerInclusive = inclusive;
+                    }
+                }
+                if (operator == Query.Operator.EQ
+                        || operator == Query.Operator.LT
+                        || operator == Query.Operator.LTE) {
+                    int comparison = upper == null ? -1 : compare(value, upper);
+                    if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                        upper = value;
+                        upperInclusive = inclusive;
+                    }
+                }
+            }
+            if (lower == null && upper == null) {
+                // Items without a key are not indexed, so an unbounded scan would miss them
+                continue;
+            }
+
+            Boolean descending = scanDirection(query, field);
+            Plan plan =
+                    new Plan(
+                            ((SecondaryIndex.RangeIndex<T>) entry.getValue())
+                                    .range(
+                                            lower,
+                                            lowerInclusive,
+                                            upper,
+                                            upperInclusive,
+                                            Boolean.TRUE.equals(descending)),
+                            descending != null);
+            if (plan.ordered) {
+                return plan;
+            }
+            found = found == null ? plan : found;
+        }
+        return found;
+    }
+
+    /**
+     * Works out whether a range index on a field, which is ordered by key and then id, lists items
+     * in the query's sort order.
+     *
+     * @return true to scan it in descending order, false for ascending, or null if neither order
+     *     is the query's
+     */
+    @Nullable
+    private static Boolean scanDirection(@Nonnull Query<?> query, @Nonnull String field) {
+        List<? extends Query.SortKey<?>> sortKeys = query.getSortKeys();
+        if (sortKeys.isEmpty()) {
+            return false;
+        }
+        boolean ascending = sortKeys.get(0).isAscending();
+        if (!field.equals(sortKeys.get(0).getField())) {
+            return null;
+        }
+        if (sortKeys.size() > 2
+                || (sortKeys.size() == 2
+                        && (!Model.ID_FIELD.equals(sortKeys.get(1).getField())
+                                || sortKeys.get(1).isAscending() != ascending))) {
+            return null;
+        }
+        return !ascending;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(@Nonnull Object a, @Nonnull Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    @Override
+    public Collection<T> find(@Nonnull Query<T> query) {
+        return select(query, query.getLimit());
+    }
+
+    @Override
+    public <R> List<R> find(@Nonnull Query<T> query, @Nonnull Projection<T, R> projection) {
+        return stream(query).map(projection.getLocalMapper()).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query) {
+        return select(query, query.getLimit()).stream();
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query, int batchSize) {
+        return stream(query);
+    }
+
+    /**
+     * Picks the first match from a snapshot, then re-checks it under its stripe's write lock
+     * before updating it. If a concurrent write made it stop matching, the search starts again.
+     */
+    @Override
+    public T findOneAndUpdate(@Nonnull Query<T> query, @Nonnull Update<T> update) {
+        while (true) {
+            List<T> match = select(query, 1);
+            if (match.isEmpty()) {
+                return null;
+            }
+
+            T candidate = match.get(0);
+            Stripe<T> stripe = stripeFor(candidate.getId());
+            stripe.lock.writeLock().lock();
+            try {
+                if (stripe.items.get(candidate.getId()) == candidate && query.matches(candidate)) {
+                    T updated = copier.apply(candidate);
+                    update.applyTo(updated);
+                    stripe.items.put(updated.getId(), updated);
+                    reindex(updated.getId(), updated);
+                    return updated;
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public T findOneAndDelete(@Nonnull Query<T> query) {
+        while (true) {
+            List<T> match = select(query, 1);
+            if (match.isEmpty()) {
+                return null;
+            }
+
+            T candidate = match.get(0);
+            Stripe<T> stripe = stripeFor(candidate.getId());
+            stripe.lock.writeLock().lock();
+            try {
+                if (stripe.items.get(candidate.getId()) == candidate && query.matches(candidate)) {
+                    stripe.items.remove(candidate.getId());
+                    reindex(candidate.getId(), null);
+                    return candidate;
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public T patch(@Nonnull ObjectId id, @Nonnull Update<T> update) {
+        Stripe<T> stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            T item = stripe.items.get(id);
+            if (item == null) {
+                return null;
+            }
+            T updated = copier.apply(item);
+            update.applyTo(updated);
+            stripe.items.put(id, updated);
+            reindex(id, updated);
+            return updated;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
     }
 
     @Override
     public long count() {
-        return collection.size();
+        long count = 0;
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                count += stripe.items.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return count;
     }
 }
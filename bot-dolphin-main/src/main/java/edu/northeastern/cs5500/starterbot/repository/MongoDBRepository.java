@@ -1,30 +1,222 @@
 package edu.northeastern.cs5500.starterbot.repository;
 
 import static com.mongodb.client.model.Filters.eq;
+import static edu.northeastern.cs5500.starterbot.util.EnvironmentUtil.intFromEnvironment;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
 import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
 import edu.northeastern.cs5500.starterbot.model.Model;
+import edu.northeastern.cs5500.starterbot.model.MongoIndex;
 import edu.northeastern.cs5500.starterbot.service.MongoDBService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
 @ExcludeFromJacocoGeneratedReport
+@Slf4j
 public class MongoDBRepository<T extends Model> implements GenericRepository<T> {
 
-    static final String MONGODB_ID_FIELD = "_id";
+    static final String MONGODB_ID_FIELD = Model.ID_FIELD;
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final int DEFAULT_BULK_BATCH_SIZE = 1000;
+    static final String MIGRATIONS_COLLECTION = "migrations";
+
+    static int getBatchSize() {
+        return intFromEnvironment("MONGODB_BATCH_SIZE", DEFAULT_BATCH_SIZE);
+    }
 
     MongoCollection<T> collection;
 
+    /** Records the migrations of {@link #runOnce} that have completed. */
+    MongoCollection<Document> migrations;
+
+    /** The number of documents fetched per cursor round trip. */
+    int batchSize = getBatchSize();
+
+    /** The maximum number of writes sent in one bulk write request. */
+    int bulkBatchSize =
+            Math.max(1, intFromEnvironment("MONGODB_BULK_BATCH_SIZE", DEFAULT_BULK_BATCH_SIZE));
+
     @Inject
     public MongoDBRepository(Class<T> clazz, MongoDBService mongoDBService) {
         MongoDatabase mongoDatabase = mongoDBService.getMongoDatabase();
         collection = mongoDatabase.getCollection(clazz.getName(), clazz);
+        migrations = mongoDatabase.getCollection(MIGRATIONS_COLLECTION);
+        ensureIndexes(clazz);
+    }
+
+    /**
+     * Creates the indexes declared with {@link MongoIndex} on the model class, then reports any
+     * declared index that the collection still lacks.
+     *
+     * @param clazz the model class stored in this collection
+     */
+    private void ensureIndexes(Class<T> clazz) {
+        MongoIndex[] declaredIndexes = clazz.getAnnotationsByType(MongoIndex.class);
+        if (declaredIndexes.length == 0) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        List<Document> expectedKeys = new ArrayList<>();
+        for (MongoIndex declaredIndex : declaredIndexes) {
+            Document keys = new Document();
+            for (String field : declaredIndex.fields()) {
+                keys.append(field, 1);
+            }
+            expectedKeys.add(keys);
+            try {
+                collection.createIndex(keys, new IndexOptions().unique(declaredIndex.unique()));
+            } catch (MongoException e) {
+                log.error(
+                        "Unable to create index {} on {}",
+                        keys.toJson(),
+                        collection.getNamespace(),
+                        e);
+            }
+        }
+        log.info(
+                "Ensured {} indexes on {} in {} ms",
+                declaredIndexes.length,
+                collection.getNamespace(),
+                (System.nanoTime() - startTime) / 1_000_000);
+
+        List<Document> existingKeys = new ArrayList<>();
+        for (Document index : collection.listIndexes()) {
+            existingKeys.add(index.get("key", Document.class));
+        }
+        for (Document keys : expectedKeys) {
+            if (!existingKeys.contains(keys)) {
+                log.warn("Missing index {} on {}", keys.toJson(), collection.getNamespace());
+            }
+        }
+    }
+
+    /**
+     * Runs a migration of this collection, unless it has already completed. A migration that fails
+     * is logged and tried again at the next start.
+     *
+     * @param name the name of the migration, unique within this collection
+     * @param migration the migration, which must be safe to run again after a failure
+     */
+    void runOnce(@Nonnull String name, @Nonnull Runnable migration) {
+        String id = collection.getNamespace().getCollectionName() + "." + name;
+        if (migrations.find(eq(MONGODB_ID_FIELD, id)).first() != null) {
+            return;
+        }
+        try {
+            migration.run();
+            migrations.updateOne(
+                    eq(MONGODB_ID_FIELD, id),
+                    Updates.set("completedAt", new Date()),
+                    new UpdateOptions().upsert(true));
+            log.info("Completed migration {}", id);
+        } catch (MongoException e) {
+            log.error("Unable to run migration {}", id, e);
+        }
+    }
+
+    /**
+     * Converts the string elements of array fields to 64-bit integers, in place on the server, so
+     * that documents written when those fields held strings can be queried by numeric values.
+     * Elements that are not numbers are left as they are, and running it again changes nothing.
+     *
+     * @param fields the names of the array fields
+     * @throws MongoException if a field could not be converted
+     */
+    void convertArrayElementsToLong(@Nonnull String... fields) {
+        for (String field : fields) {
+            Document toLong =
+                    new Document(
+                            "$map",
+                            new Document("input", "$" + field)
+                                    .append(
+                                            "in",
+                                            new Document(
+                                                    "$convert",
+                                                    new Document("input", "$$this")
+                                                            .append("to", "long")
+                                                            .append("onError", "$$this"))));
+            UpdateResult result =
+                    collection.updateMany(
+                            Filters.type(field, BsonType.STRING),
+                            List.of(Updates.set(field, toLong)));
+            if (result.getModifiedCount() > 0) {
+                log.info(
+                        "Converted {} in {} documents of {} to numbers",
+                        field,
+                        result.getModifiedCount(),
+                        collection.getNamespace());
+            }
+        }
+    }
+
+    /**
+     * Sets a count field to the size of an array field, in place on the server, wherever the two
+     * disagree. Documents written before the count was maintained then start from the right value.
+     *
+     * @param arrayField the name of the array field
+     * @param countField the name of the field holding its size
+     */
+    void countArrayElements(@Nonnull String arrayField, @Nonnull String countField) {
+        Document array = new Document("$ifNull", Arrays.asList("$" + arrayField, List.of()));
+        Document size = new Document("$size", array);
+        try {
+            UpdateResult result =
+                    collection.updateMany(
+                            Filters.expr(
+                                    new Document("$ne", Arrays.asList("$" + countField, size))),
+                            List.of(Updates.set(countField, size)));
+            if (result.getModifiedCount() > 0) {
+                log.info(
+                        "Recounted {} in {} documents of {}",
+                        arrayField,
+                        result.getModifiedCount(),
+                        collection.getNamespace());
+            }
+        } catch (MongoException e) {
+            log.error("Unable to count {} on {}", arrayField, collection.getNamespace(), e);
+        }
     }
 
     @Nullable
@@ -41,6 +233,23 @@ public class MongoDBRepository<T extends Model> implements GenericRepository<T>
         return item;
     }
 
+    /** Relies on the unique indexes declared with {@link MongoIndex} to reject duplicates. */
+    @Override
+    public boolean addIfAbsent(@Nonnull T item) {
+        if (item.getId() == null) {
+            item.setId(new ObjectId());
+        }
+        try {
+            collection.insertOne(item);
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
     @Override
     public T update(@Nonnull T item) {
         return collection.findOneAndReplace(eq(MONGODB_ID_FIELD, item.getId()), item);
@@ -51,13 +260,295 @@ public class MongoDBRepository<T extends Model> implements GenericRepository<T>
         collection.deleteOne(eq(MONGODB_ID_FIELD, id));
     }
 
+    @Override
+    public BulkResult addAll(@Nonnull Collection<T> items) {
+        List<WriteModel<T>> writes = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (item.getId() == null) {
+                item.setId(new ObjectId());
+            }
+            writes.add(new InsertOneModel<>(item));
+        }
+        return bulkWrite(writes, BulkWriteResult::getInsertedCount);
+    }
+
+    @Override
+    public BulkResult updateAll(@Nonnull Collection<T> items) {
+        List<WriteModel<T>> writes = new ArrayList<>(items.size());
+        for (T item : items) {
+            writes.add(new ReplaceOneModel<>(eq(MONGODB_ID_FIELD, item.getId()), item));
+        }
+        return bulkWrite(writes, BulkWriteResult::getMatchedCount);
+    }
+
+    @Override
+    public BulkResult deleteAll(@Nonnull Collection<ObjectId> ids) {
+        List<WriteModel<T>> writes = new ArrayList<>(ids.size());
+        for (ObjectId id : ids) {
+            writes.add(new DeleteOneModel<>(eq(MONGODB_ID_FIELD, id)));
+        }
+        return bulkWrite(writes, BulkWriteResult::getDeletedCount);
+    }
+
+    /**
+     * Sends writes as unordered bulk writes of at most {@link #bulkBatchSize} writes each, so the
+     * server applies every write it can rather than stopping at the first error.
+     *
+     * @param writes the writes, one per item
+     * @param writtenCount reads the number of items written from the result of a bulk write
+     * @return the number of items written, and the positions of the writes the server rejected
+     */
+    private BulkResult bulkWrite(
+            @Nonnull List<WriteModel<T>> writes,
+            @Nonnull ToIntFunction<BulkWriteResult> writtenCount) {
+        BulkWriteOptions options = new BulkWriteOptions().ordered(false);
+        int written = 0;
+        List<Integer> failed = new ArrayList<>();
+        for (int start = 0; start < writes.size(); start += bulkBatchSize) {
+            List<WriteModel<T>> batch =
+                    writes.subList(start, Math.min(start + bulkBatchSize, writes.size()));
+            try {
+                written += writtenCount.applyAsInt(collection.bulkWrite(batch, options));
+            } catch (MongoBulkWriteException e) {
+                written += writtenCount.applyAsInt(e.getWriteResult());
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    failed.add(start + error.getIndex());
+                }
+                log.warn(
+                        "{} of {} bulk writes to {} were rejected",
+                        e.getWriteErrors().size(),
+                        batch.size(),
+                        collection.getNamespace());
+            }
+        }
+        Collections.sort(failed);
+        return new BulkResult(written, failed);
+    }
+
     @Override
     public Collection<T> getAll() {
         return collection.find().into(new ArrayList<>());
     }
 
+    @Override
+    public Collection<T> find(@Nonnull Query<T> query) {
+        return findIterable(query).batchSize(batchSize).into(new ArrayList<>());
+    }
+
+    @Override
+    public <R> List<R> find(@Nonnull Query<T> query, @Nonnull Projection<T, R> projection) {
+        FindIterable<R> results =
+                collection
+                        .find(toFilter(query), projection.getResultClass())
+                        .projection(toProjection(projection));
+        return sortAndLimit(results, query).batchSize(batchSize).into(new ArrayList<>());
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query) {
+        return stream(query, batchSize);
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query, int batchSize) {
+        MongoCursor<T> cursor = findIterable(query).batchSize(batchSize).iterator();
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                cursor, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(cursor::close);
+    }
+
+    private FindIterable<T> findIterable(@Nonnull Query<T> query) {
+        return sortAndLimit(collection.find(toFilter(query)), query);
+    }
+
+    private static <R> FindIterable<R> sortAndLimit(
+            @Nonnull FindIterable<R> results, @Nonnull Query<?> query) {
+        if (!query.getSortKeys().isEmpty()) {
+            results = results.sort(toSort(query));
+        }
+        if (query.getLimit() > 0) {
+            results = results.limit(query.getLimit());
+        }
+        return results;
+    }
+
+    @Override
+    public T findOneAndUpdate(@Nonnull Query<T> query, @Nonnull Update<T> update) {
+        FindOneAndUpdateOptions options =
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+        if (!query.getSortKeys().isEmpty()) {
+            options.sort(toSort(query));
+        }
+        return collection.findOneAndUpdate(toFilter(query), toUpdate(update), options);
+    }
+
+    @Override
+    public T findOneAndDelete(@Nonnull Query<T> query) {
+        FindOneAndDeleteOptions options = new FindOneAndDeleteOptions();
+        if (!query.getSortKeys().isEmpty()) {
+            options.sort(toSort(query));
+        }
+        return collection.findOneAndDelete(toFilter(query), options);
+    }
+
+    @Override
+    public T patch(@Nonnull ObjectId id, @Nonnull Update<T> update) {
+        if (update.isEmpty()) {
+            // MongoDB rejects an empty update document
+            return get(id);
+        }
+        return collection.findOneAndUpdate(
+                eq(MONGODB_ID_FIELD, id),
+                toUpdate(update),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+
     @Override
     public long count() {
         return collection.countDocuments();
     }
+
+    /**
+     * Translates a query's criteria into a native MongoDB filter.
+     *
+     * @param query the query to translate
+     * @return the equivalent filter
+     */
+    static Bson toFilter(@Nonnull Query<?> query) {
+        List<Bson> filters = new ArrayList<>();
+        for (Query.Criterion<?> criterion : query.getCriteria()) {
+            filters.add(toFilter(criterion));
+        }
+        if (filters.isEmpty()) {
+            return new BsonDocument();
+        }
+        return filters.size() == 1 ? filters.get(0) : Filters.and(filters);
+    }
+
+    private static Bson toFilter(@Nonnull Query.Criterion<?> criterion) {
+        String field = criterion.getField();
+        Object value = toBsonValue(criterion.getValue());
+        switch (criterion.getOperator()) {
+            case EQ:
+                return Filters.eq(field, value);
+            case GT:
+                return Filters.gt(field, value);
+            case GTE:
+                return Filters.gte(field, value);
+            case LT:
+                return Filters.lt(field, value);
+            case LTE:
+                return Filters.lte(field, value);
+            case IN:
+                List<Object> values = new ArrayList<>();
+                for (Object item : (Collection<?>) criterion.getValue()) {
+                    values.add(toBsonValue(item));
+                }
+                return Filters.in(field, values);
+            case CONTAINS:
+                return Filters.eq(field, value);
+            case NOT_CONTAINS:
+                return Filters.ne(field, value);
+            case LT_FIELD:
+                Document current = new Document("$ifNull", Arrays.asList("$" + field, 0));
+                return Filters.expr(new Document("$lt", Arrays.asList(current, "$" + value)));
+            case OR:
+                List<Bson> alternatives = new ArrayList<>();
+                for (Object alternative : (Collection<?>) criterion.getValue()) {
+                    alternatives.add(toFilter((Query<?>) alternative));
+                }
+                return Filters.or(alternatives);
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported operator " + criterion.getOperator());
+        }
+    }
+
+    /**
+     * Translates an update's operations into native MongoDB update operators.
+     *
+     * @param update the update to translate
+     * @return the equivalent update document
+     */
+    static Bson toUpdate(@Nonnull Update<?> update) {
+        List<Bson> updates = new ArrayList<>();
+        for (Update.Operation<?> operation : update.getOperations()) {
+            String field = operation.getField();
+            Object value = toBsonValue(operation.getValue());
+            switch (operation.getOperator()) {
+                case SET:
+                    updates.add(Updates.set(field, value));
+                    break;
+                case ADD_TO_SET:
+                    updates.add(Updates.addToSet(field, value));
+                    break;
+                case PULL:
+                    updates.add(Updates.pull(field, value));
+                    break;
+                case ADD_EACH_TO_SET:
+                    updates.add(Updates.addEachToSet(field, (List<?>) value));
+                    break;
+                case PULL_ALL:
+                    updates.add(Updates.pullByFilter(Filters.in(field, (List<?>) value)));
+                    break;
+                case INC:
+                    updates.add(Updates.inc(field, (Number) value));
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unsupported operator " + operation.getOperator());
+            }
+        }
+        return Updates.combine(updates);
+    }
+
+    /**
+     * Translates a projection into a MongoDB projection document. Computed fields use aggregation
+     * expressions, which find accepts from MongoDB 4.4.
+     *
+     * @param projection the projection to translate
+     * @return the equivalent projection document
+     */
+    static Bson toProjection(@Nonnull Projection<?, ?> projection) {
+        Document document = new Document();
+        for (Projection.Field field : projection.getFields()) {
+            Document array =
+                    new Document("$ifNull", Arrays.asList("$" + field.getSource(), List.of()));
+            switch (field.getKind()) {
+                case INCLUDE:
+                    document.append(field.getName(), 1);
+                    break;
+                case SIZE:
+                    document.append(field.getName(), new Document("$size", array));
+                    break;
+                case CONTAINS:
+                    document.append(
+                            field.getName(),
+                            new Document(
+                                    "$in", Arrays.asList(toBsonValue(field.getValue()), array)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported projection " + field.getKind());
+            }
+        }
+        return document;
+    }
+
+    private static Bson toSort(@Nonnull Query<?> query) {
+        List<Bson> sorts = new ArrayList<>();
+        for (Query.SortKey<?> sortKey : query.getSortKeys()) {
+            sorts.add(
+                    sortKey.isAscending()
+                            ? Sorts.ascending(sortKey.getField())
+                            : Sorts.descending(sortKey.getField()));
+        }
+        return Sorts.orderBy(sorts);
+    }
+
+    /** Enums are stored by name by the model codecs, so they are compared by name as well. */
+    private static Object toBsonValue(Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).name() : value;
+    }
 }
@@ -0,0 +1,78 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * A read model computed from the items matched by a {@link Query}, used with {@link
+ * GenericRepository#find(Query, Projection)}. Only the listed fields are read, so large fields
+ * that the read model does not need are neither transferred nor decoded.
+ *
+ * <p>Like {@link Query}, every field carries its stored name, so that {@link MongoDBRepository}
+ * can compute it on the server, while the local mapper lets {@link InMemoryRepository} build the
+ * same read model from a stored item.
+ */
+public class Projection<T, R> {
+
+    /** How a single result field is computed. */
+    public enum Kind {
+        /** The stored field, unchanged. */
+        INCLUDE,
+        /** The number of elements in an array field. A missing array counts as empty. */
+        SIZE,
+        /** Whether an array field contains the value. */
+        CONTAINS
+    }
+
+    /** A single result field. */
+    @Value
+    public static class Field {
+        Kind kind;
+        String name;
+        String source;
+        Object value;
+    }
+
+    @Getter private final Class<R> resultClass;
+    @Getter private final Function<T, R> localMapper;
+    @Getter private final List<Field> fields = new ArrayList<>();
+
+    private Projection(@Nonnull Class<R> resultClass, @Nonnull Function<T, R> localMapper) {
+        this.resultClass = resultClass;
+        this.localMapper = localMapper;
+    }
+
+    /**
+     * Starts a new projection. The id is always included.
+     *
+     * @param resultClass the class the database decodes results into
+     * @param localMapper builds the same result from a stored item
+     * @return a projection with no other fields
+     */
+    public static <T, R> Projection<T, R> into(
+            @Nonnull Class<R> resultClass, @Nonnull Function<T, R> localMapper) {
+        return new Projection<>(resultClass, localMapper);
+    }
+
+    public Projection<T, R> include(@Nonnull String... names) {
+        for (String name : names) {
+            fields.add(new Field(Kind.INCLUDE, name, name, null));
+        }
+        return this;
+    }
+
+    public Projection<T, R> size(@Nonnull String name, @Nonnull String arrayField) {
+        fields.add(new Field(Kind.SIZE, name, arrayField, null));
+        return this;
+    }
+
+    public Projection<T, R> contains(
+            @Nonnull String name, @Nonnull String arrayField, @Nonnull Object value) {
+        fields.add(new Field(Kind.CONTAINS, name, arrayField, value));
+        return this;
+    }
+}
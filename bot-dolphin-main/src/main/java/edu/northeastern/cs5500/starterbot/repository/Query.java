@@ -0,0 +1,312 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Model;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+/**
+ * A typed query against a {@link GenericRepository}.
+ *
+ * <p>Every criterion carries the stored field name, so that {@link MongoDBRepository} can push it
+ * down as a native filter, and a getter, so that {@link InMemoryRepository} can evaluate it
+ * locally. Criteria are combined with AND.
+ */
+public class Query<T> {
+
+    /** The comparison applied by a single criterion. */
+    public enum Operator {
+        EQ,
+        GT,
+        GTE,
+        LT,
+        LTE,
+        IN,
+        /** The array field contains the value. */
+        CONTAINS,
+        /** The array field does not contain the value. */
+        NOT_CONTAINS,
+        /** The numeric field is below the number held in another field. */
+        LT_FIELD,
+        /** At least one of several sub-queries matches. */
+        OR
+    }
+
+    /**
+     * A single field comparison. For {@link Operator#LT_FIELD} the value is the name of the other
+     * field and {@code valueGetter} reads it; for {@link Operator#OR} the value is the list of
+     * alternative queries.
+     */
+    @Value
+    public static class Criterion<T> {
+        Operator operator;
+        String field;
+        Function<T, ?> getter;
+        Object value;
+        Function<T, ?> valueGetter;
+
+        /**
+         * Evaluates this criterion against an item held in memory.
+         *
+         * @param item the item to test
+         * @return true if the item satisfies the criterion
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public boolean test(@Nonnull T item) {
+            if (operator == Operator.OR) {
+                for (Query<T> alternative : (List<Query<T>>) value) {
+                    if (alternative.matches(item)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            Object actual = getter.apply(item);
+            switch (operator) {
+                case EQ:
+                    return Objects.equals(actual, value);
+                case IN:
+                    return ((Collection<?>) value).contains(actual);
+                case CONTAINS:
+                    return actual != null && ((Collection<?>) actual).contains(value);
+                case NOT_CONTAINS:
+                    return actual == null || !((Collection<?>) actual).contains(value);
+                case LT_FIELD:
+                    long current = actual == null ? 0 : ((Number) actual).longValue();
+                    Number bound = (Number) valueGetter.apply(item);
+                    return bound != null && current < bound.longValue();
+                default:
+                    if (actual == null || value == null) {
+                        return false;
+                    }
+                    int comparison = ((Comparable) actual).compareTo(value);
+                    return (operator == Operator.GT && comparison > 0)
+                            || (operator == Operator.GTE && comparison >= 0)
+                            || (operator == Operator.LT && comparison < 0)
+                            || (operator == Operator.LTE && comparison <= 0);
+            }
+        }
+    }
+
+    /** A single sort key. */
+    @Value
+    public static class SortKey<T> {
+        String field;
+        Function<T, ? extends Comparable<?>> getter;
+        boolean ascending;
+    }
+
+    @Getter private final List<Criterion<T>> criteria = new ArrayList<>();
+    @Getter private final List<SortKey<T>> sortKeys = new ArrayList<>();
+
+    /** The maximum number of results, or 0 for no limit. */
+    @Getter private int limit;
+
+    /**
+     * Starts a new query that matches every item.
+     *
+     * @return an empty query
+     */
+    public static <T> Query<T> where() {
+        return new Query<>();
+    }
+
+    /**
+     * Starts a new query that matches the item with the given id.
+     *
+     * @param id the id of the item
+     * @return a query on the id field
+     */
+    public static <T extends Model> Query<T> byId(@Nonnull ObjectId id) {
+        return Query.<T>where().eq(Model.ID_FIELD, Model::getId, id);
+    }
+
+    public <V> Query<T> eq(@Nonnull String field, @Nonnull Function<T, V> getter, V value) {
+        return add(Operator.EQ, field, getter, value);
+    }
+
+    public <V extends Comparable<? super V>> Query<T> gt(
+            @Nonnull String field, @Nonnull Function<T, V> getter, @Nonnull V value) {
+        return add(Operator.GT, field, getter, value);
+    }
+
+    public <V extends Comparable<? super V>> Query<T> gte(
+            @Nonnull String field, @Nonnull Function<T, V> getter, @Nonnull V value) {
+        return add(Operator.GTE, field, getter, value);
+    }
+
+    public <V extends Comparable<? super V>> Query<T> lt(
+            @Nonnull String field, @Nonnull Function<T, V> getter, @Nonnull V value) {
+        return add(Operator.LT, field, getter, value);
+    }
+
+    public <V extends Comparable<? super V>> Query<T> lte(
+            @Nonnull String field, @Nonnull Function<T, V> getter, @Nonnull V value) {
+        return add(Operator.LTE, field, getter, value);
+    }
+
+    public <V> Query<T> in(
+            @Nonnull String field,
+            @Nonnull Function<T, V> getter,
+            @Nonnull Collection<? extends V> values) {
+        return add(Operator.IN, field, getter, List.copyOf(values));
+    }
+
+    public <V> Query<T> contains(
+            @Nonnull String field,
+            @Nonnull Function<T, ? extends Collection<V>> getter,
+            @Nonnull V value) {
+        return add(Operator.CONTAINS, field, getter, value);
+    }
+
+    public <V> Query<T> notContains(
+            @Nonnull String field,
+            @Nonnull Function<T, ? extends Collection<V>> getter,
+            @Nonnull V value) {
+        return add(Operator.NOT_CONTAINS, field, getter, value);
+    }
+
+    /**
+     * Matches items whose numeric field is below the number stored in another field of the same
+     * item. A missing field counts as 0.
+     */
+    public Query<T> lessThanField(
+            @Nonnull String field,
+            @Nonnull Function<T, ? extends Number> getter,
+            @Nonnull String limitField,
+            @Nonnull Function<T, ? extends Number> limitGetter) {
+        criteria.add(new Criterion<>(Operator.LT_FIELD, field, getter, limitField, limitGetter));
+        return this;
+    }
+
+    /** Matches items that satisfy at least one of the alternatives. */
+    @SafeVarargs
+    public final Query<T> or(@Nonnull Query<T>... alternatives) {
+        criteria.add(new Criterion<>(Operator.OR, null, null, List.of(alternatives), null));
+        return this;
+    }
+
+    /**
+     * Keyset pagination: matches items that come strictly after the given position in ascending
+     * {@code (field, tieField)} order, and sorts them in that order. The tie field must be unique,
+     * such as the id, so that no item is skipped or repeated between pages. The redundant range
+     * on {@code field} lets the database bound an index scan on it.
+     */
+    public <V extends Comparable<? super V>, K extends Comparable<? super K>> Query<T> seekAfter(
+            @Nonnull String field,
+            @Nonnull Function<T, V> getter,
+            @Nonnull V value,
+            @Nonnull String tieField,
+            @Nonnull Function<T, K> tieGetter,
+            @Nonnull K tieValue) {
+        return gte(field, getter, value)
+                .or(
+                        Query.<T>where().gt(field, getter, value),
+                        Query.<T>where().eq(field, getter, value).gt(tieField, tieGetter, tieValue))
+                .sortAscending(field, getter)
+                .sortAscending(tieField, tieGetter);
+    }
+
+    /**
+     * Keyset pagination in reverse: matches items that come strictly before the given position in
+     * ascending {@code (field, tieField)} order, and sorts them nearest first.
+     */
+    public <V extends Comparable<? super V>, K extends Comparable<? super K>> Query<T> seekBefore(
+            @Nonnull String field,
+            @Nonnull Function<T, V> getter,
+            @Nonnull V value,
+            @Nonnull String tieField,
+            @Nonnull Function<T, K> tieGetter,
+            @Nonnull K tieValue) {
+        return lte(field, getter, value)
+                .or(
+                        Query.<T>where().lt(field, getter, value),
+                        Query.<T>where().eq(field, getter, value).lt(tieField, tieGetter, tieValue))
+                .sortDescending(field, getter)
+                .sortDescending(tieField, tieGetter);
+    }
+
+    public <V extends Comparable<? super V>> Query<T> sortAscending(
+            @Nonnull String field, @Nonnull Function<T, V> getter) {
+        sortKeys.add(new SortKey<>(field, getter, true));
+        return this;
+    }
+
+    public <V extends Comparable<? super V>> Query<T> sortDescending(
+            @Nonnull String field, @Nonnull Function<T, V> getter) {
+        sortKeys.add(new SortKey<>(field, getter, false));
+        return this;
+    }
+
+    /**
+     * Caps the number of results.
+     *
+     * @param limit the maximum number of results, or 0 for no limit
+     * @return this query
+     */
+    public Query<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Evaluates every criterion against an item held in memory.
+     *
+     * @param item the item to test
+     * @return true if the item satisfies all criteria
+     */
+    public boolean matches(@Nonnull T item) {
+        for (Criterion<T> criterion : criteria) {
+            if (!criterion.test(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the in-memory equivalent of the sort keys. Missing values sort first, as in MongoDB.
+     *
+     * @return a comparator, or null if the query is unsorted
+     */
+    public Comparator<T> comparator() {
+        Comparator<T> comparator = null;
+        for (SortKey<T> sortKey : sortKeys) {
+            Function<T, ? extends Comparable<?>> getter = sortKey.getGetter();
+            Comparator<T> next = (a, b) -> compareNullsFirst(getter.apply(a), getter.apply(b));
+            if (!sortKey.isAscending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareNullsFirst(Comparable a, Comparable b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private Query<T> add(
+            @Nonnull Operator operator,
+            @Nonnull String field,
+            @Nonnull Function<T, ?> getter,
+            Object value) {
+        criteria.add(new Criterion<>(operator, field, getter, value, null));
+        return this;
+    }
+}
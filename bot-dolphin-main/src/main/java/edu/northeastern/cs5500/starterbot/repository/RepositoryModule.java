@@ -1,18 +1,40 @@
 package edu.northeastern.cs5500.starterbot.repository;
 
+import static edu.northeastern.cs5500.starterbot.util.EnvironmentUtil.intFromEnvironment;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import dagger.Module;
 import dagger.Provides;
 import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
+import edu.northeastern.cs5500.starterbot.model.Attendance;
 import edu.northeastern.cs5500.starterbot.model.EventUser;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
 
 @ExcludeFromJacocoGeneratedReport
 @Module
 public class RepositoryModule {
+    public static final String RSVP_WRITER_EXECUTOR = "rsvpWriter";
+    static final int DEFAULT_RSVP_WRITER_THREADS = 16;
+    static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+    static final int DEFAULT_CACHE_TTL_SECONDS = 60;
+
+    private static boolean attendanceStoreEnabled() {
+        return Boolean.parseBoolean(
+                new ProcessBuilder().environment().get("ATTENDANCE_STORE_ENABLED"));
+    }
+
     @Provides
+    @Singleton
     public GenericRepository<EventUser> provideEventUsersRepository(
             MongoDBRepository<EventUser> repository) {
-        return repository;
+        return new UnitOfWorkRepository<>(repository);
     }
 
     @Provides
@@ -21,13 +43,55 @@ public class RepositoryModule {
     }
 
     @Provides
+    @Singleton
     public GenericRepository<StudyEvent> provideStudyEventsRepository(
             MongoDBRepository<StudyEvent> repository) {
-        return repository;
+        // Outermost, so loads repeated within an interaction do not even reach the cache
+        return new UnitOfWorkRepository<>(
+                new CachingRepository<>(
+                        repository,
+                        StudyEvent.class.getSimpleName(),
+                        intFromEnvironment("REPOSITORY_CACHE_MAX_SIZE", DEFAULT_CACHE_MAX_SIZE),
+                        Duration.ofSeconds(
+                                intFromEnvironment(
+                                        "REPOSITORY_CACHE_TTL_SECONDS",
+                                        DEFAULT_CACHE_TTL_SECONDS)),
+                        StudyEvent::copy));
+    }
+
+    /**
+     * The threads that write batches of coalesced RSVPs. Its size is read from RSVP_WRITER_THREADS,
+     * and should stay below the driver's connection pool size.
+     */
+    @Provides
+    @Singleton
+    @Named(RSVP_WRITER_EXECUTOR)
+    public Executor provideRsvpWriterExecutor() {
+        return Executors.newFixedThreadPool(
+                intFromEnvironment("RSVP_WRITER_THREADS", DEFAULT_RSVP_WRITER_THREADS),
+                new ThreadFactoryBuilder().setNameFormat("rsvp-writer-%d").setDaemon(true).build());
     }
 
     @Provides
     public Class<StudyEvent> provideStudyEvent() {
         return StudyEvent.class;
     }
+
+    /**
+     * Keeps RSVPs in their own collection when ATTENDANCE_STORE_ENABLED is true, which suits events
+     * with many attendees. Otherwise RSVPs stay in the event documents and this is null. {@link
+     * AttendanceMigration} moves existing RSVPs whenever the setting changes.
+     */
+    @Provides
+    @Singleton
+    @Nullable
+    public AttendanceStore provideAttendanceStore(
+            Provider<MongoDBRepository<Attendance>> repository) {
+        return attendanceStoreEnabled() ? new AttendanceStore(repository.get()) : null;
+    }
+
+    @Provides
+    public Class<Attendance> provideAttendance() {
+        return Attendance.class;
+    }
 }
@@ -0,0 +1,302 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * A hash index from the value of one field to the ids of the items holding it, used by {@link
+ * InMemoryRepository} to answer equality criteria without scanning every item.
+ *
+ * <p>The key each item was indexed under is remembered, so an item can be removed or re-indexed
+ * after it has been changed in place. All methods are safe to call concurrently.
+ */
+abstract class SecondaryIndex<T> {
+
+    /** Stands in for a null key in maps that do not accept null. */
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<T, ?> keyExtractor;
+    private final Map<ObjectId, Object> keyById = new ConcurrentHashMap<>();
+    private final Set<ObjectId> nullKeyIds = ConcurrentHashMap.newKeySet();
+
+    SecondaryIndex(@Nonnull Function<T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    /** Creates an index whose keys are any hashable values. */
+    static <T> SecondaryIndex<T> hash(@Nonnull Function<T, ?> keyExtractor) {
+        return new HashIndex<>(keyExtractor);
+    }
+
+    /** Creates an index partitioned by the constants of an enum. */
+    static <T, E extends Enum<E>> SecondaryIndex<T> forEnum(
+            @Nonnull Class<E> enumClass, @Nonnull Function<T, E> keyExtractor) {
+        return new EnumIndex<>(enumClass, keyExtractor);
+    }
+
+    /** Creates an index that keeps its keys in order, so it can also answer range criteria. */
+    static <T, V extends Comparable<? super V>> RangeIndex<T> range(
+            @Nonnull Function<T, V> keyExtractor) {
+        return new RangeIndex<>(keyExtractor);
+    }
+
+    /** Creates an index that holds at most one item per key. */
+    static <T> UniqueIndex<T> unique(@Nonnull Function<T, ?> keyExtractor) {
+        return new UniqueIndex<>(keyExtractor);
+    }
+
+    @Nullable
+    Object keyOf(@Nonnull T item) {
+        return keyExtractor.apply(item);
+    }
+
+    void add(@Nonnull ObjectId id, @Nonnull T item) {
+        Object key = keyOf(item);
+        keyById.put(id, key == null ? NULL_KEY : key);
+        if (key == null) {
+            nullKeyIds.add(id);
+        } else {
+            addToBucket(key, id);
+        }
+    }
+
+    void remove(@Nonnull ObjectId id) {
+        Object key = keyById.remove(id);
+        if (key == NULL_KEY) {
+            nullKeyIds.remove(id);
+        } else if (key != null) {
+            removeFromBucket(key, id);
+        }
+    }
+
+    /**
+     * @param key the value of the indexed field
+     * @return the ids of the items holding it, as a live view
+     */
+    Set<ObjectId> lookup(@Nullable Object key) {
+        return key == null ? nullKeyIds : bucket(key);
+    }
+
+    abstract void addToBucket(@Nonnull Object key, @Nonnull ObjectId id);
+
+    abstract void removeFromBucket(@Nonnull Object key, @Nonnull ObjectId id);
+
+    abstract Set<ObjectId> bucket(@Nonnull Object key);
+
+    private static class HashIndex<T> extends SecondaryIndex<T> {
+        private final Map<Object, Set<ObjectId>> buckets = new ConcurrentHashMap<>();
+
+        HashIndex(@Nonnull Function<T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+
+        @Override
+        void addToBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.compute(
+                    key,
+                    (k, ids) -> {
+                        Set<ObjectId> bucket = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                        bucket.add(id);
+                        return bucket;
+                    });
+        }
+
+        @Override
+        void removeFromBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.computeIfPresent(
+                    key,
+                    (k, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+        }
+
+        @Override
+        Set<ObjectId> bucket(@Nonnull Object key) {
+            return buckets.getOrDefault(key, Collections.emptySet());
+        }
+    }
+
+    /**
+     * Partitions items by an enum field. The map holds a bucket for every constant from the
+     * start and is never changed structurally afterwards, so it is safe to read concurrently.
+     */
+    private static class EnumIndex<T, E extends Enum<E>> extends SecondaryIndex<T> {
+        private final Class<E> enumClass;
+        private final EnumMap<E, Set<ObjectId>> buckets;
+
+        EnumIndex(@Nonnull Class<E> enumClass, @Nonnull Function<T, E> keyExtractor) {
+            super(keyExtractor);
+            this.enumClass = enumClass;
+            buckets = new EnumMap<>(enumClass);
+            for (E constant : enumClass.getEnumConstants()) {
+                buckets.put(constant, ConcurrentHashMap.newKeySet());
+            }
+        }
+
+        @Override
+        void addToBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.get(enumClass.cast(key)).add(id);
+        }
+
+        @Override
+        void removeFromBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.get(enumClass.cast(key)).remove(id);
+        }
+
+        @Override
+        Set<ObjectId> bucket(@Nonnull Object key) {
+            return enumClass.isInstance(key)
+                    ? buckets.get(enumClass.cast(key))
+                    : Collections.emptySet();
+        }
+    }
+
+    /**
+     * Maps each key to the single item holding it. Items without a key are not constrained.
+     * {@link #claim} reserves a key atomically, so that two items cannot be added with the same
+     * key; plain adds and updates take the key over, as the repository enforces uniqueness only
+     * in {@link InMemoryRepository#addIfAbsent}.
+     */
+    static class UniqueIndex<T> extends SecondaryIndex<T> {
+        private final Map<Object, ObjectId> owners = new ConcurrentHashMap<>();
+
+        UniqueIndex(@Nonnull Function<T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+
+        /**
+         * Reserves the key of an item that is about to be added.
+         *
+         * @return false if another item holds the key
+         */
+        boolean claim(@Nonnull ObjectId id, @Nonnull T item) {
+            Object key = keyOf(item);
+            return key == null || owners.putIfAbsent(key, id) == null;
+        }
+
+        /** Gives up a key reserved by {@link #claim} for an item that was not added after all. */
+        void release(@Nonnull ObjectId id, @Nonnull T item) {
+            Object key = keyOf(item);
+            if (key != null) {
+                owners.remove(key, id);
+            }
+        }
+
+        @Override
+        void addToBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            owners.put(key, id);
+        }
+
+        @Override
+        void removeFromBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            owners.remove(key, id);
+        }
+
+        @Override
+        Set<ObjectId> bucket(@Nonnull Object key) {
+            ObjectId id = owners.get(key);
+            return id == null ? Collections.emptySet() : Collections.singleton(id);
+        }
+    }
+
+    /**
+     * Keeps the keys in a skip list and the ids of each key in order, so that the items in a key
+     * range can be listed in (key, id) order without sorting them.
+     */
+    static class RangeIndex<T> extends SecondaryIndex<T> {
+        private final ConcurrentSkipListMap<Object, NavigableSet<ObjectId>> buckets =
+                new ConcurrentSkipListMap<>();
+
+        RangeIndex(@Nonnull Function<T, ?> keyExtractor) {
+            super(keyExtractor);
+        }
+
+        @Override
+        void addToBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.compute(
+                    key,
+                    (k, ids) -> {
+                        NavigableSet<ObjectId> bucket =
+                                ids == null ? new ConcurrentSkipListSet<>() : ids;
+                        bucket.add(id);
+                        return bucket;
+                    });
+        }
+
+        @Override
+        void removeFromBucket(@Nonnull Object key, @Nonnull ObjectId id) {
+            buckets.computeIfPresent(
+                    key,
+                    (k, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+        }
+
+        @Override
+        Set<ObjectId> bucket(@Nonnull Object key) {
+            try {
+                return buckets.getOrDefault(key, Collections.emptyNavigableSet());
+            } catch (ClassCastException e) {
+                // A key of another type than the indexed field cannot match
+                return Collections.emptySet();
+            }
+        }
+
+        /**
+         * Lists the ids of the items whose key lies between two bounds, as a live view.
+         *
+         * @param lower the lower bound, or null for none
+         * @param lowerInclusive whether an item with the lower bound as its key is listed
+         * @param upper the upper bound, or null for none
+         * @param upperInclusive whether an item with the upper bound as its key is listed
+         * @param descending whether to list the items in descending rather than ascending order
+         * @return the ids, ordered by key and then by id
+         */
+        Iterable<ObjectId> range(
+                @Nullable Object lower,
+                boolean lowerInclusive,
+                @Nullable Object upper,
+                boolean upperInclusive,
+                boolean descending) {
+            NavigableMap<Object, NavigableSet<ObjectId>> range;
+            if (lower != null && upper != null) {
+                int comparison = compare(lower, upper);
+                if (comparison > 0 || (comparison == 0 && !(lowerInclusive && upperInclusive))) {
+                    return Collections.emptyList();
+                }
+                range = buckets.subMap(lower, lowerInclusive, upper, upperInclusive);
+            } else if (lower != null) {
+                range = buckets.tailMap(lower, lowerInclusive);
+            } else if (upper != null) {
+                range = buckets.headMap(upper, upperInclusive);
+            } else {
+                range = buckets;
+            }
+
+            NavigableMap<Object, NavigableSet<ObjectId>> ordered =
+                    descending ? range.descendingMap() : range;
+            return () ->
+                    ordered.values().stream()
+                            .flatMap(ids -> (descending ? ids.descendingSet() : ids).stream())
+                            .iterator();
+        }
+
+        @SuppressWarnings("unchecked")
+        static int compare(@Nonnull Object a, @Nonnull Object b) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+    }
+}
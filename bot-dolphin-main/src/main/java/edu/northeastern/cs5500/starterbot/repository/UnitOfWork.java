@@ -0,0 +1,81 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Model;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * The entities loaded while handling a single interaction, on the thread handling it.
+ *
+ * <p>While a unit of work is open, every {@link UnitOfWorkRepository} on the same thread loads an
+ * item by id at most once. Writes still go to the database immediately, so a handler never replies
+ * before its changes are stored; they only refresh or drop the loaded items they touch.
+ *
+ * <p>Units of work nest: opening one while another is open joins the outer one, which ends when
+ * the outermost is closed.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /** Items by id and repository as last loaded or written; a null value means no item. */
+    private final Map<UnitOfWorkRepository<?>, Map<ObjectId, ?>> loaded = new LinkedHashMap<>();
+
+    private int depth = 1;
+
+    private UnitOfWork() {}
+
+    /**
+     * Opens a unit of work on the current thread, or joins the one already open.
+     *
+     * @return the unit of work, to be closed once the interaction is handled
+     */
+    public static UnitOfWork begin() {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        current = new UnitOfWork();
+        CURRENT.set(current);
+        return current;
+    }
+
+    @Nullable
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Forgets what the unit of work open on the current thread has loaded for an id, so that the
+     * next load reads it again. Call this after another thread has written the item.
+     *
+     * @param id the id of the item
+     */
+    public static void evict(@Nonnull ObjectId id) {
+        UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            for (Map<ObjectId, ?> items : current.loaded.values()) {
+                items.remove(id);
+            }
+        }
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <T extends Model> Map<ObjectId, T> loaded(@Nonnull UnitOfWorkRepository<T> repository) {
+        return (Map<ObjectId, T>) loaded.computeIfAbsent(repository, r -> new HashMap<>());
+    }
+
+    /** Closes the unit of work, unless it was joined and the outer one is still open. */
+    @Override
+    public void close() {
+        if (--depth == 0) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Model;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * Memoizes {@link #get} within the {@link UnitOfWork} open on the current thread, if any, in front
+ * of another {@link GenericRepository}.
+ *
+ * <p>Every other call goes straight to the underlying repository. Writes then keep the memoized
+ * items in step: an atomic write's result replaces the memoized item, any other write drops it.
+ */
+public class UnitOfWorkRepository<T extends Model> implements GenericRepository<T> {
+
+    private final GenericRepository<T> repository;
+
+    public UnitOfWorkRepository(@Nonnull GenericRepository<T> repository) {
+        this.repository = repository;
+    }
+
+    @Nullable
+    private Map<ObjectId, T> loaded() {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        return unitOfWork == null ? null : unitOfWork.loaded(this);
+    }
+
+    private void forget(@Nonnull ObjectId id) {
+        Map<ObjectId, T> loaded = loaded();
+        if (loaded != null) {
+            loaded.remove(id);
+        }
+    }
+
+    @Nullable
+    @Override
+    public T get(@Nonnull ObjectId id) {
+        Map<ObjectId, T> loaded = loaded();
+        if (loaded == null) {
+            return repository.get(id);
+        }
+        if (loaded.containsKey(id)) {
+            return loaded.get(id);
+        }
+        T item = repository.get(id);
+        loaded.put(id, item);
+        return item;
+    }
+
+    @Override
+    public T add(@Nonnull T item) {
+        T added = repository.add(item);
+        forget(added.getId());
+        return added;
+    }
+
+    @Override
+    public boolean addIfAbsent(@Nonnull T item) {
+        boolean added = repository.addIfAbsent(item);
+        if (item.getId() != null) {
+            forget(item.getId());
+        }
+        return added;
+    }
+
+    @Override
+    public T update(@Nonnull T item) {
+        try {
+            return repository.update(item);
+        } finally {
+            forget(item.getId());
+        }
+    }
+
+    @Override
+    public void delete(@Nonnull ObjectId id) {
+        try {
+            repository.delete(id);
+        } finally {
+            forget(id);
+        }
+    }
+
+    @Override
+    public BulkResult addAll(@Nonnull Collection<T> items) {
+        try {
+            return repository.addAll(items);
+        } finally {
+            for (T item : items) {
+                if (item.getId() != null) {
+                    forget(item.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public BulkResult updateAll(@Nonnull Collection<T> items) {
+        try {
+            return repository.updateAll(items);
+        } finally {
+            for (T item : items) {
+                forget(item.getId());
+            }
+        }
+    }
+
+    @Override
+    public BulkResult deleteAll(@Nonnull Collection<ObjectId> ids) {
+        try {
+            return repository.deleteAll(ids);
+        } finally {
+            for (ObjectId id : ids) {
+                forget(id);
+            }
+        }
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return repository.getAll();
+    }
+
+    @Override
+    public Collection<T> find(@Nonnull Query<T> query) {
+        return repository.find(query);
+    }
+
+    @Override
+    public <R> List<R> find(@Nonnull Query<T> query, @Nonnull Projection<T, R> projection) {
+        return repository.find(query, projection);
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query) {
+        return repository.stream(query);
+    }
+
+    @Override
+    public Stream<T> stream(@Nonnull Query<T> query, int batchSize) {
+        return repository.stream(query, batchSize);
+    }
+
+    @Override
+    public T findOneAndUpdate(@Nonnull Query<T> query, @Nonnull Update<T> update) {
+        T updated = repository.findOneAndUpdate(query, update);
+        Map<ObjectId, T> loaded = loaded();
+        if (loaded != null && updated != null) {
+            loaded.put(updated.getId(), updated);
+        }
+        return updated;
+    }
+
+    @Override
+    public T findOneAndDelete(@Nonnull Query<T> query) {
+        T deleted = repository.findOneAndDelete(query);
+        Map<ObjectId, T> loaded = loaded();
+        if (loaded != null && deleted != null) {
+            loaded.put(deleted.getId(), null);
+        }
+        return deleted;
+    }
+
+    @Override
+    public T patch(@Nonnull ObjectId id, @Nonnull Update<T> update) {
+        T patched;
+        try {
+            patched = repository.patch(id, update);
+        } catch (RuntimeException e) {
+            forget(id);
+            throw e;
+        }
+        Map<ObjectId, T> loaded = loaded();
+        if (loaded != null) {
+            loaded.put(id, patched);
+        }
+        return patched;
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+}
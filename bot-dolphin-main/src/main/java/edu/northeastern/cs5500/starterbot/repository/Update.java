@@ -0,0 +1,229 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * A typed, field-level update applied by {@link GenericRepository#findOneAndUpdate} and {@link
+ * GenericRepository#patch}. Only the fields named by its operations are sent to the database.
+ *
+ * <p>Like {@link Query}, every operation carries the stored field name, so that {@link
+ * MongoDBRepository} can send it as a native update operator, and a local action, so that {@link
+ * InMemoryRepository} can apply it to an item held in memory.
+ */
+public class Update<T> {
+
+    /** The kind of change made by a single operation. */
+    public enum Operator {
+        /** Replaces the value of a field. */
+        SET,
+        /** Adds the value to an array field unless it is already present. */
+        ADD_TO_SET,
+        /** Removes every occurrence of the value from an array field. */
+        PULL,
+        /** Adds each value in a list to an array field unless it is already present. */
+        ADD_EACH_TO_SET,
+        /** Removes every occurrence of each value in a list from an array field. */
+        PULL_ALL,
+        /** Adds the value to a numeric field. */
+        INC
+    }
+
+    /** A single field operation. */
+    @Value
+    public static class Operation<T> {
+        Operator operator;
+        String field;
+        Object value;
+        Consumer<T> localAction;
+    }
+
+    @Getter private final List<Operation<T>> operations = new ArrayList<>();
+
+    /**
+     * Starts a new update that changes nothing.
+     *
+     * @return an empty update
+     */
+    public static <T> Update<T> of() {
+        return new Update<>();
+    }
+
+    public <V> Update<T> set(@Nonnull String field, @Nonnull BiConsumer<T, V> setter, V value) {
+        return add(Operator.SET, field, value, item -> setter.accept(item, value));
+    }
+
+    public <V> Update<T> addToSet(
+            @Nonnull String field,
+            @Nonnull Function<T, List<V>> getter,
+            @Nonnull BiConsumer<T, List<V>> setter,
+            @Nonnull V value) {
+        return add(
+                Operator.ADD_TO_SET,
+                field,
+                value,
+                item -> {
+                    List<V> values = copyOf(getter.apply(item));
+                    if (!values.contains(value)) {
+                        values.add(value);
+                    }
+                    setter.accept(item, values);
+                });
+    }
+
+    public <V> Update<T> pull(
+            @Nonnull String field,
+            @Nonnull Function<T, List<V>> getter,
+            @Nonnull BiConsumer<T, List<V>> setter,
+            @Nonnull V value) {
+        return add(
+                Operator.PULL,
+                field,
+                value,
+                item -> {
+                    List<V> values = copyOf(getter.apply(item));
+                    values.removeIf(value::equals);
+                    setter.accept(item, values);
+                });
+    }
+
+    /**
+     * Adds to a numeric field in place, so concurrent increments are never lost. A missing field
+     * counts as 0.
+     *
+     * @param delta the amount to add, which may be negative
+     * @return this update
+     */
+    public Update<T> inc(
+            @Nonnull String field,
+            @Nonnull Function<T, Integer> getter,
+            @Nonnull BiConsumer<T, Integer> setter,
+            int delta) {
+        return add(
+                Operator.INC,
+                field,
+                delta,
+                item -> {
+                    Integer current = getter.apply(item);
+                    setter.accept(item, (current == null ? 0 : current) + delta);
+                });
+    }
+
+    /**
+     * Adds a value to a set field held in memory as an immutable set type, such as {@link
+     * edu.northeastern.cs5500.starterbot.model.AttendeeSet}.
+     *
+     * @param adder returns a copy of the set, which may be null, with the value added
+     * @return this update
+     */
+    public <S, V> Update<T> addToSet(
+            @Nonnull String field,
+            @Nonnull Function<T, S> getter,
+            @Nonnull BiConsumer<T, S> setter,
+            @Nonnull V value,
+            @Nonnull BiFunction<S, V, S> adder) {
+        return add(
+                Operator.ADD_TO_SET,
+                field,
+                value,
+                item -> setter.accept(item, adder.apply(getter.apply(item), value)));
+    }
+
+    /**
+     * Removes a value from a set field held in memory as an immutable set type.
+     *
+     * @param remover returns a copy of the set, which may be null, without the value
+     * @return this update
+     */
+    public <S, V> Update<T> pull(
+            @Nonnull String field,
+            @Nonnull Function<T, S> getter,
+            @Nonnull BiConsumer<T, S> setter,
+            @Nonnull V value,
+            @Nonnull BiFunction<S, V, S> remover) {
+        return add(
+                Operator.PULL,
+                field,
+                value,
+                item -> setter.accept(item, remover.apply(getter.apply(item), value)));
+    }
+
+    /**
+     * Adds several values to a set field held in memory as an immutable set type, in one
+     * operation.
+     *
+     * @param adder returns a copy of the set, which may be null, with the values added
+     * @return this update
+     */
+    public <S, V> Update<T> addEachToSet(
+            @Nonnull String field,
+            @Nonnull Function<T, S> getter,
+            @Nonnull BiConsumer<T, S> setter,
+            @Nonnull Collection<V> values,
+            @Nonnull BiFunction<S, Collection<V>, S> adder) {
+        List<V> copy = List.copyOf(values);
+        return add(
+                Operator.ADD_EACH_TO_SET,
+                field,
+                copy,
+                item -> setter.accept(item, adder.apply(getter.apply(item), copy)));
+    }
+
+    /**
+     * Removes several values from a set field held in memory as an immutable set type, in one
+     * operation.
+     *
+     * @param remover returns a copy of the set, which may be null, without the values
+     * @return this update
+     */
+    public <S, V> Update<T> pullAll(
+            @Nonnull String field,
+            @Nonnull Function<T, S> getter,
+            @Nonnull BiConsumer<T, S> setter,
+            @Nonnull Collection<V> values,
+            @Nonnull BiFunction<S, Collection<V>, S> remover) {
+        List<V> copy = List.copyOf(values);
+        return add(
+                Operator.PULL_ALL,
+                field,
+                copy,
+                item -> setter.accept(item, remover.apply(getter.apply(item), copy)));
+    }
+
+    /**
+     * Applies every operation to an item held in memory.
+     *
+     * @param item the item to change
+     */
+    public void applyTo(@Nonnull T item) {
+        for (Operation<T> operation : operations) {
+            operation.getLocalAction().accept(item);
+        }
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /** Lists are copied rather than mutated, so readers holding the old list are unaffected. */
+    private static <V> List<V> copyOf(List<V> values) {
+        return values == null ? new ArrayList<>() : new ArrayList<>(values);
+    }
+
+    private Update<T> add(
+            @Nonnull Operator operator,
+            @Nonnull String field,
+            Object value,
+            @Nonnull Consumer<T> localAction) {
+        operations.add(new Operation<>(operator, field, value, localAction));
+        return this;
+    }
+}
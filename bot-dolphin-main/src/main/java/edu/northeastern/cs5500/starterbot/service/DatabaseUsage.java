@@ -0,0 +1,200 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static edu.northeastern.cs5500.starterbot.util.EnvironmentUtil.intFromEnvironment;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+
+/**
+ * The database round trips, reply bytes and database time spent handling a single interaction.
+ *
+ * <p>{@link #LISTENER} is registered with the driver and adds every command run on a thread to the
+ * usage open on that thread. When the usage is closed, its totals are added to the interaction's
+ * span as attributes and recorded as histograms tagged with the interaction's name, and a warning
+ * is logged if they exceed the budget read from INTERACTION_DB_CALL_BUDGET or
+ * INTERACTION_DB_MILLIS_BUDGET.
+ *
+ * <p>Work an interaction hands to another thread is counted with {@link #runOnBehalfOf}.
+ */
+@Slf4j
+public final class DatabaseUsage implements AutoCloseable {
+
+    static final int DEFAULT_CALL_BUDGET = 10;
+    static final int DEFAULT_MILLIS_BUDGET = 500;
+
+    private static final AttributeKey<String> INTERACTION = AttributeKey.stringKey("interaction");
+    private static final AttributeKey<Long> CALLS = AttributeKey.longKey("db.calls");
+    private static final AttributeKey<Long> BYTES = AttributeKey.longKey("db.bytes");
+    private static final AttributeKey<Long> MILLIS = AttributeKey.longKey("db.time_ms");
+
+    private static final ThreadLocal<DatabaseUsage> CURRENT = new ThreadLocal<>();
+    private static final int CALL_BUDGET =
+            intFromEnvironment("INTERACTION_DB_CALL_BUDGET", DEFAULT_CALL_BUDGET);
+    private static final int MILLIS_BUDGET =
+            intFromEnvironment("INTERACTION_DB_MILLIS_BUDGET", DEFAULT_MILLIS_BUDGET);
+
+    private static final Meter METER = GlobalOpenTelemetry.getMeter("cs5500-s23-starterbot");
+    private static final LongHistogram CALLS_HISTOGRAM =
+            METER.histogramBuilder("interaction.db.calls").ofLongs().build();
+    private static final LongHistogram BYTES_HISTOGRAM =
+            METER.histogramBuilder("interaction.db.bytes").ofLongs().setUnit("By").build();
+    private static final LongHistogram MILLIS_HISTOGRAM =
+            METER.histogramBuilder("interaction.db.time").ofLongs().setUnit("ms").build();
+
+    /** Adds each command the driver runs to the usage open on the thread running it. */
+    public static final CommandListener LISTENER =
+            new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    // Only finished commands are counted
+                }
+
+                @Override
+                public void commandSucceeded(CommandSucceededEvent event) {
+                    DatabaseUsage usage = CURRENT.get();
+                    if (usage != null) {
+                        usage.record(
+                                event.getElapsedTime(TimeUnit.NANOSECONDS),
+                                replySize(event.getResponse()));
+                    }
+                }
+
+                @Override
+                public void commandFailed(CommandFailedEvent event) {
+                    DatabaseUsage usage = CURRENT.get();
+                    if (usage != null) {
+                        usage.record(event.getElapsedTime(TimeUnit.NANOSECONDS), 0);
+                    }
+                }
+            };
+
+    private final String interaction;
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicLong bytes = new AtomicLong();
+    final AtomicLong nanos = new AtomicLong();
+
+    /** The usages each command is added to instead, or null to count commands in this one */
+    @Nullable private final List<DatabaseUsage> onBehalfOf;
+
+    private DatabaseUsage(@Nonnull String interaction) {
+        this.interaction = interaction;
+        this.onBehalfOf = null;
+    }
+
+    private DatabaseUsage(@Nonnull List<DatabaseUsage> onBehalfOf) {
+        this.interaction = "";
+        this.onBehalfOf = onBehalfOf;
+    }
+
+    /** The driver hands replies to listeners as raw bytes, so their size is cheap to read. */
+    private static long replySize(@Nullable BsonDocument response) {
+        return response instanceof RawBsonDocument
+                ? ((RawBsonDocument) response).getByteBuffer().remaining()
+                : 0;
+    }
+
+    /**
+     * Starts counting the database usage of an interaction on the current thread.
+     *
+     * @param interaction the name of the command or button being handled
+     * @return the usage, to be closed once the interaction is handled
+     */
+    public static DatabaseUsage begin(@Nonnull String interaction) {
+        DatabaseUsage usage = new DatabaseUsage(interaction);
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    /**
+     * The usage open on the current thread, to hand to work done for the interaction on another
+     * thread.
+     *
+     * @return the usage, or null if none is open
+     */
+    @Nullable
+    public static DatabaseUsage current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work on the current thread on behalf of other interactions, such as a batch of writes
+     * that several of them wait for. Every command it runs is added to each of their usages as
+     * soon as it finishes, so their totals are complete before the work hands back any result.
+     *
+     * @param usages the usages of the interactions the work is done for
+     * @param work the work to run
+     */
+    public static void runOnBehalfOf(
+            @Nonnull Collection<DatabaseUsage> usages, @Nonnull Runnable work) {
+        DatabaseUsage previous = CURRENT.get();
+        CURRENT.set(new DatabaseUsage(List.copyOf(usages)));
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private void record(long elapsedNanos, long replyBytes) {
+        if (onBehalfOf != null) {
+            for (DatabaseUsage usage : onBehalfOf) {
+                usage.record(elapsedNanos, replyBytes);
+            }
+            return;
+        }
+        calls.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+        bytes.addAndGet(replyBytes);
+    }
+
+    /** Stops counting, and reports the totals on the current span and as metrics. */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        long callCount = calls.get();
+        long byteCount = bytes.get();
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos.get());
+
+        Span.current()
+                .setAttribute(CALLS, callCount)
+                .setAttribute(BYTES, byteCount)
+                .setAttribute(MILLIS, millis);
+        Attributes attributes = Attributes.of(INTERACTION, interaction);
+        CALLS_HISTOGRAM.record(callCount, attributes);
+        BYTES_HISTOGRAM.record(byteCount, attributes);
+        MILLIS_HISTOGRAM.record(millis, attributes);
+
+        if (callCount > CALL_BUDGET || millis > MILLIS_BUDGET) {
+            log.warn(
+                    "{} exceeded its database budget: {} calls in {} ms, {} bytes",
+                    interaction,
+                    callCount,
+                    millis,
+                    byteCount);
+        }
+    }
+}
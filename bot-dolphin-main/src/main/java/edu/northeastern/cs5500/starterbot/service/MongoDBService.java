@@ -1,5 +1,6 @@
 package edu.northeastern.cs5500.starterbot.service;
 
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
@@ -9,6 +10,9 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
 import edu.northeastern.cs5500.starterbot.ExcludeFromJacocoGeneratedReport;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSetCodec;
+import edu.northeastern.cs5500.starterbot.model.EventUserCodec;
+import edu.northeastern.cs5500.starterbot.model.StudyEventCodec;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -34,10 +38,19 @@ public class MongoDBService implements Service {
 
     @Inject
     public MongoDBService() {
+        // The hand-written codecs come first, so the POJO codec only handles the other models
         CodecRegistry codecRegistry =
                 fromRegistries(
+                        fromCodecs(
+                                new AttendeeSetCodec(),
+                                new StudyEventCodec(),
+                                new EventUserCodec()),
                         MongoClientSettings.getDefaultCodecRegistry(),
-                        fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+                        fromProviders(
+                                PojoCodecProvider.builder()
+                                        .automatic(true)
+                                        .register(AttendeeSetCodec.PROPERTY_CODEC_PROVIDER)
+                                        .build()));
 
         ConnectionString connectionString = new ConnectionString(getDatabaseURI());
 
@@ -45,6 +58,7 @@ public class MongoDBService implements Service {
                 MongoClientSettings.builder()
                         .codecRegistry(codecRegistry)
                         .applyConnectionString(connectionString)
+                        .addCommandListener(DatabaseUsage.LISTENER)
                         .build();
 
         MongoClient mongoClient = MongoClients.create(mongoClientSettings);
@@ -1,5 +1,8 @@
 package edu.northeastern.cs5500.starterbot.service;
 
+import static edu.northeastern.cs5500.starterbot.util.EnvironmentUtil.intFromEnvironment;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
@@ -8,7 +11,15 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Scope;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
@@ -19,6 +30,10 @@ import net.dv8tion.jda.api.requests.GatewayIntent;
 @Module
 @Slf4j
 public abstract class ServiceModule { // NOSONAR
+    public static final String INTERACTION_EXECUTOR = "interactions";
+    static final int DEFAULT_THREADS = 16;
+    static final int DEFAULT_QUEUE_SIZE = 100;
+
     @Binds
     abstract OpenTelemetry bindOpenTelemetry(OpenTelemetryService service);
 
@@ -26,6 +41,55 @@ public abstract class ServiceModule { // NOSONAR
         return new ProcessBuilder().environment().get("BOT_TOKEN");
     }
 
+    @Nullable
+    private static ExecutorService poolFromEnvironment(String name, String threadNameFormat) {
+        int threads = intFromEnvironment(name, 0);
+        if (threads <= 0) {
+            return null;
+        }
+        return Executors.newFixedThreadPool(
+                threads,
+                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build());
+    }
+
+    /**
+     * Runs each interaction's handler on a pool of threads when INTERACTION_EXECUTOR is "pool", so
+     * that a handler blocked on the database or Discord does not hold up other users'
+     * interactions. The pool has INTERACTION_THREADS threads and queues up to
+     * INTERACTION_QUEUE_SIZE interactions; once it is full, interactions run on JDA's event thread
+     * again. Otherwise this is null and every handler runs on JDA's event thread.
+     */
+    @Provides
+    @Singleton
+    @Named(INTERACTION_EXECUTOR)
+    @Nullable
+    static Executor provideInteractionExecutor() {
+        String mode = new ProcessBuilder().environment().get("INTERACTION_EXECUTOR");
+        if (mode == null || mode.isBlank()) {
+            return null;
+        }
+        if (!mode.equalsIgnoreCase("pool")) {
+            log.warn("Ignoring invalid INTERACTION_EXECUTOR {}", mode);
+            return null;
+        }
+        int threads = Math.max(1, intFromEnvironment("INTERACTION_THREADS", DEFAULT_THREADS));
+        int queueSize =
+                Math.max(1, intFromEnvironment("INTERACTION_QUEUE_SIZE", DEFAULT_QUEUE_SIZE));
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queueSize),
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("interaction-%d")
+                                .setDaemon(true)
+                                .build());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     @Provides
     @Singleton
     static JDA provideJDA(OpenTelemetryService openTelemetryService) {
@@ -39,7 +103,18 @@ public abstract class ServiceModule { // NOSONAR
             @SuppressWarnings("null")
             @Nonnull
             Collection<GatewayIntent> intents = EnumSet.noneOf(GatewayIntent.class);
-            return JDABuilder.createLight(token, intents).build();
+            JDABuilder builder = JDABuilder.createLight(token, intents);
+            // Sized by JDA_CALLBACK_THREADS and JDA_EVENT_THREADS, or left to JDA's defaults
+            ExecutorService callbackPool =
+                    poolFromEnvironment("JDA_CALLBACK_THREADS", "jda-callback-%d");
+            if (callbackPool != null) {
+                builder.setCallbackPool(callbackPool, true);
+            }
+            ExecutorService eventPool = poolFromEnvironment("JDA_EVENT_THREADS", "jda-event-%d");
+            if (eventPool != null) {
+                builder.setEventPool(eventPool, true);
+            }
+            return builder.build();
 
         } catch (Exception e) {
             log.error("Unable to start the bot", e);
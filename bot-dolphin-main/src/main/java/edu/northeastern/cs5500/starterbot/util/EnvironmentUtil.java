@@ -0,0 +1,31 @@
+package edu.northeastern.cs5500.starterbot.util;
+
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/** Utility class for reading settings from environment variables. */
+@Slf4j
+public class EnvironmentUtil {
+
+    /** Private constructor to prevent instantiation of the utility class. */
+    private EnvironmentUtil() {}
+
+    /**
+     * Reads a whole number from an environment variable.
+     *
+     * @param name the name of the environment variable
+     * @param defaultValue the value to use when the variable is unset or not a number
+     * @return the configured value, or the default
+     */
+    public static int intFromEnvironment(@Nonnull String name, int defaultValue) {
+        String configured = new ProcessBuilder().environment().get(name);
+        if (configured != null) {
+            try {
+                return Integer.parseInt(configured);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid {} {}", name, configured);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,86 @@
+package edu.northeastern.cs5500.starterbot.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over primitive longs. It never reports an added value as absent, and reports an
+ * absent value as present with about the false positive probability it was sized for, as long as
+ * no more values than its capacity are added. Adding and testing values is safe from any thread
+ * and does not allocate.
+ */
+public class LongBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    private LongBloomFilter(long bitCount, int hashCount, int capacity) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a filter sized for a number of values.
+     *
+     * @param capacity the number of values the filter is expected to hold
+     * @param falsePositiveProbability the wanted false positive probability, between 0 and 1
+     * @return an empty filter
+     */
+    public static LongBloomFilter create(int capacity, double falsePositiveProbability) {
+        if (capacity <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("invalid Bloom filter size");
+        }
+        double ln2 = Math.log(2);
+        long bitCount =
+                (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+        return new LongBloomFilter(bitCount, hashCount, capacity);
+    }
+
+    /** @return the number of values the filter was sized for */
+    public int capacity() {
+        return capacity;
+    }
+
+    /** @param value the value to add */
+    public void put(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * @param value the value to test
+     * @return false if the value was certainly never added, true if it may have been
+     */
+    public boolean mightContain(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The finalizer of SplitMix64, which spreads every input bit over the whole result. */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
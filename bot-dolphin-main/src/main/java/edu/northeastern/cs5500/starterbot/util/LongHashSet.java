@@ -0,0 +1,148 @@
+package edu.northeastern.cs5500.starterbot.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of primitive longs, stored in an open-addressing table so that neither adding nor looking
+ * up a value allocates.
+ *
+ * <p>Writers are serialized by a lock, while lookups read optimistically and only take the read
+ * lock if a write happened meanwhile, so lookups from many threads do not contend.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** Marks an empty slot; the value zero itself is tracked by {@link #containsZero}. */
+    private static final long EMPTY = 0L;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] table;
+    private boolean containsZero;
+    private int size;
+
+    public LongHashSet() {
+        table = new long[MIN_CAPACITY];
+    }
+
+    /**
+     * @param value the value to look up
+     * @return true if the value is in the set
+     */
+    public boolean contains(long value) {
+        long stamp = lock.tryOptimisticRead();
+        boolean found = find(value);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = find(value);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param value the value to add
+     * @return true if the value was not in the set before
+     */
+    public boolean add(long value) {
+        long stamp = lock.writeLock();
+        try {
+            if (value == EMPTY) {
+                boolean added = !containsZero;
+                containsZero = true;
+                size += added ? 1 : 0;
+                return added;
+            }
+            if (!insert(table, value)) {
+                return false;
+            }
+            size++;
+            // Keep the table at most half full, so probe sequences stay short
+            if (size * 2 > table.length) {
+                long[] grown = new long[table.length * 2];
+                for (long existing : table) {
+                    if (existing != EMPTY) {
+                        insert(grown, existing);
+                    }
+                }
+                table = grown;
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return the number of values in the set */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Calls an action for every value in the set, while holding the read lock.
+     *
+     * @param action the action to call
+     */
+    public void forEach(LongConsumer action) {
+        long stamp = lock.readLock();
+        try {
+            if (containsZero) {
+                action.accept(EMPTY);
+            }
+            for (long value : table) {
+                if (value != EMPTY) {
+                    action.accept(value);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean find(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        long[] slots = table;
+        int mask = slots.length - 1;
+        // The probe is bounded, since an optimistic read may see a table that is being changed
+        for (int i = slot(value, mask), probes = 0; probes < slots.length; i = (i + 1) & mask) {
+            long current = slots[i];
+            if (current == value) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            probes++;
+        }
+        return false;
+    }
+
+    private static boolean insert(long[] slots, long value) {
+        int mask = slots.length - 1;
+        for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+            if (slots[i] == EMPTY) {
+                slots[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private static int slot(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
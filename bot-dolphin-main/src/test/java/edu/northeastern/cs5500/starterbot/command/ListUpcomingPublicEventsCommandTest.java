@@ -67,7 +67,7 @@ class ListUpcomingPublicEventsCommandTest {
         ListUpcomingPublicEventsCommand command = new ListUpcomingPublicEventsCommand();
         StudyEvent event = sControllerTest.studyEvents.get(0);
         MessageEmbed actualResult =
-                command.createEventMessageEmbed(event, "65f79ec5023ead72b483b55d");
+                command.createEventMessageEmbed(event, StudyEventControllerTest.USER_ID_2);
         MessageEmbed expectBuilder = createMockBuilder();
         assertThat(expectBuilder.toData().toMap()).isEqualTo(actualResult.toData().toMap());
     }
@@ -93,7 +93,7 @@ class ListUpcomingPublicEventsCommandTest {
         ListUpcomingPublicEventsCommand command = new ListUpcomingPublicEventsCommand();
         StudyEvent event = sControllerTest.studyEvents.get(0);
         MessageCreateData actualCreateData =
-                command.getMessageCreateData(event, "65f79ec5023ead72b483b55d");
+                command.getMessageCreateData(event, StudyEventControllerTest.USER_ID_2);
         MessageCreateData expectedCreateData = createMessageDataMocks();
 
         assertThat(expectedCreateData.toData().toJson())
@@ -5,11 +5,16 @@ import static com.google.common.truth.Truth.assertThat;
 import edu.northeastern.cs5500.starterbot.controller.EventUserController;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventControllerTest;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
 import edu.northeastern.cs5500.starterbot.model.EventUser;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
 import net.dv8tion.jda.api.interactions.components.LayoutComponent;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -25,7 +30,7 @@ class MyEventButtonHandlerTest {
     private EventUserController eventUserController;
 
     private void setEventUserMocks() {
-        inMemoryRepository = new InMemoryRepository<>();
+        inMemoryRepository = new InMemoryRepository<>(EventUser::copy);
         eventUserController = new EventUserController(inMemoryRepository);
 
         EventUser eventUser = new EventUser();
@@ -82,38 +87,28 @@ class MyEventButtonHandlerTest {
     }
 
     @Test
-    void testGetAttendees() {
-        MyEventButtonHandler eventButtonHandler = new MyEventButtonHandler();
-        StudyEvent studyEvent = sControllerTest.studyEvents.get(0);
-        assertThat(eventButtonHandler.getAttendees(studyEvent)).isNotNull();
-    }
-
-    @Test
-    void testDeleteStudyEventHelper() {
+    void testDeleteStudyEvent() {
         MyEventButtonHandler eventButtonHandler = new MyEventButtonHandler();
         StudyEvent studyEvent = sControllerTest.studyEvents.get(0);
-        List<String> attList = eventButtonHandler.getAttendees(studyEvent);
+        studyEvent.setStart(Date.from(new Date().toInstant().plus(1, ChronoUnit.DAYS)));
+        // There is no JDA to send cancellation messages with
+        studyEvent.setAttendeesList(AttendeeSet.of());
+        String eventId = studyEvent.getId().toString();
 
-        String actualResult =
-                eventButtonHandler.deleteStudyEventHelper(studyEvent, controller, attList);
-        assertThat(actualResult).isEqualTo("Event has been successfully deleted.");
+        StudyEvent deletedEvent = eventButtonHandler.deleteStudyEvent(eventId, controller);
+        assertThat(deletedEvent).isNotNull();
+        assertThat(deletedEvent.getTitle()).isEqualTo("CS5500 project research");
 
         // trying to delete again same event
-        actualResult = eventButtonHandler.deleteStudyEventHelper(studyEvent, controller, attList);
-        assertThat(actualResult).isEqualTo("This event no longer exists and cannot be deleted.");
+        assertThat(eventButtonHandler.deleteStudyEvent(eventId, controller)).isNull();
     }
 
     @Test
-    void testDeleteStudyEvent() {
+    void testDeleteStudyEventThatStarted() {
         MyEventButtonHandler eventButtonHandler = new MyEventButtonHandler();
-        StudyEvent studyEvent = sControllerTest.studyEvents.get(0);
-
-        String actualResult = eventButtonHandler.deleteStudyEvent(studyEvent, controller);
-        assertThat(actualResult).isEqualTo("Event has been successfully deleted.");
-
-        // trying to delete again same event
-        actualResult = eventButtonHandler.deleteStudyEvent(studyEvent, controller);
-        assertThat(actualResult).isEqualTo("This event no longer exists and cannot be deleted.");
+        String eventId = sControllerTest.studyEvents.get(1).getId().toString();
+        assertThat(eventButtonHandler.deleteStudyEvent(eventId, controller)).isNull();
+        assertThat(controller.getEventById(eventId)).isNotNull();
     }
 
     @Test
@@ -142,7 +137,7 @@ class MyEventButtonHandlerTest {
 
     @Test
     void testCreateEmailOption() {
-        inMemoryRepository = new InMemoryRepository<>();
+        inMemoryRepository = new InMemoryRepository<>(EventUser::copy);
         eventUserController = new EventUserController(inMemoryRepository);
         MyEventButtonHandler eventButtonHandler = new MyEventButtonHandler();
 
@@ -156,9 +151,9 @@ class MyEventButtonHandlerTest {
         setEventUserMocks();
 
         MyEventButtonHandler eventButtonHandler = new MyEventButtonHandler();
-        List<EventUser> actualUsersList = eventButtonHandler.getAllUsers(eventUserController);
-        List<EventUser> expectedUsersList = eventUserController.getAllUsers();
-
-        assertThat(actualUsersList).isEqualTo(expectedUsersList);
+        try (Stream<EventUser> users = eventButtonHandler.streamAllUsers(eventUserController)) {
+            assertThat(users.collect(Collectors.toList()))
+                    .containsExactlyElementsIn(inMemoryRepository.getAll());
+        }
     }
 }
@@ -4,8 +4,8 @@ import static com.google.common.truth.Truth.assertThat;
 
 import edu.northeastern.cs5500.starterbot.controller.StudyEventController;
 import edu.northeastern.cs5500.starterbot.controller.StudyEventControllerTest;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
-import java.util.ArrayList;
 import java.util.List;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,7 +47,7 @@ class UpcomingPrivateEventsCommandTest {
     void testHasUserRSVPedWithEmptyAttendeesList() {
         UpcomingPrivateEventsCommand command = new UpcomingPrivateEventsCommand();
         boolean actualResponse =
-                command.hasUserRSVPed(StudyEventControllerTest.USER_ID_1, new ArrayList<String>());
+                command.hasUserRSVPed(StudyEventControllerTest.USER_ID_1, AttendeeSet.of());
 
         assertThat(actualResponse).isFalse(); // No attendees present
     }
@@ -63,7 +63,7 @@ class UpcomingPrivateEventsCommandTest {
     @Test
     void testHasUserRSVPedNotYet() {
         UpcomingPrivateEventsCommand command = new UpcomingPrivateEventsCommand();
-        List<String> attendeesList = sControllerTest.studyEvents.get(0).getAttendeesList();
+        AttendeeSet attendeesList = sControllerTest.studyEvents.get(0).getAttendeesList();
         boolean actualResponse =
                 command.hasUserRSVPed(StudyEventControllerTest.USER_ID_1, attendeesList);
 
@@ -73,8 +73,9 @@ class UpcomingPrivateEventsCommandTest {
     @Test
     void testHasUserRSVPedTrue() {
         UpcomingPrivateEventsCommand command = new UpcomingPrivateEventsCommand();
-        List<String> attendeesList = sControllerTest.studyEvents.get(0).getAttendeesList();
-        boolean actualResponse = command.hasUserRSVPed("65f79ec5023ead72b483b55d", attendeesList);
+        AttendeeSet attendeesList = sControllerTest.studyEvents.get(0).getAttendeesList();
+        boolean actualResponse =
+                command.hasUserRSVPed(StudyEventControllerTest.USER_ID_2, attendeesList);
 
         assertThat(actualResponse).isTrue(); // attendees present
     }
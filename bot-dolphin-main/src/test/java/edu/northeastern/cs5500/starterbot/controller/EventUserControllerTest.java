@@ -7,6 +7,8 @@ import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,7 +25,9 @@ class EventUserControllerTest {
 
     @BeforeEach
     void setUp() {
-        inMemoryRepository = new InMemoryRepository<>();
+        inMemoryRepository =
+                new InMemoryRepository<EventUser>(EventUser::copy)
+                        .withUniqueIndex(EventUser.DISCORD_ID_FIELD, EventUser::getDiscordId);
         eventUserController = new EventUserController(inMemoryRepository);
 
         eventUser = new EventUser();
@@ -50,6 +54,33 @@ class EventUserControllerTest {
         assertThat(isVerified).isFalse();
     }
 
+    @Test
+    void testVerifiedUserCacheIsUpdatedOnAdd() {
+        // The first check loads the verified users into memory
+        assertThat(eventUserController.isUserVerified(USER_DISCORD_ID)).isFalse();
+
+        eventUserController.addVerifiedEventUser(eventUser);
+        assertThat(eventUserController.isUserVerified(USER_DISCORD_ID)).isTrue();
+        assertThat(eventUserController.isUserVerified("12345")).isTrue();
+    }
+
+    @Test
+    void testVerifiedUserCacheGrows() {
+        int users = VerifiedUserCache.MIN_CAPACITY * 3;
+        for (int i = 0; i < users; i++) {
+            EventUser user = new EventUser();
+            user.setDiscordId(Long.toString(1_000_000_000_000_000L + i));
+            inMemoryRepository.add(user);
+        }
+        eventUserController.loadVerifiedUsers();
+
+        for (int i = 0; i < users; i++) {
+            String discordId = Long.toString(1_000_000_000_000_000L + i);
+            assertThat(eventUserController.isUserVerified(discordId)).isTrue();
+        }
+        assertThat(eventUserController.isUserVerified("999999999999999999")).isFalse();
+    }
+
     private List<String> getListOfDiscordIds(Collection<EventUser> eventUsers) {
         return eventUsers.stream().map(EventUser::getDiscordId).collect(Collectors.toList());
     }
@@ -79,6 +110,17 @@ class EventUserControllerTest {
         assertThat(listEventUsers2).isEqualTo(listEventUsers3);
     }
 
+    @Test
+    void testAddVerifiedEventUserWithSameDiscordId() {
+        EventUser sameUser = new EventUser();
+        sameUser.setDiscordId("12345");
+        sameUser.setEmail(USER_EMAIL);
+
+        String reply = eventUserController.addVerifiedEventUser(sameUser);
+        assertThat(reply).isEqualTo(EventUserController.USER_ALREADY_VERIFIED);
+        assertThat(inMemoryRepository.count()).isEqualTo(1);
+    }
+
     @Test
     void testAddVerifiedEventUserWithInvalidEmail() {
 
@@ -96,10 +138,26 @@ class EventUserControllerTest {
     }
 
     @Test
-    void testGetAllUsers() {
+    void testAddVerifiedEventUserWhenTheDatabaseFails() {
+        EventUserController failingController =
+                new EventUserController(
+                        new InMemoryRepository<EventUser>(EventUser::copy) {
+                            @Override
+                            public boolean addIfAbsent(@Nonnull EventUser item) {
+                                throw new IllegalStateException("database unavailable");
+                            }
+                        });
+
+        assertThat(failingController.addVerifiedEventUser(eventUser))
+                .isEqualTo(EventUserController.ERROR);
+    }
+
+    @Test
+    void testStreamAllUsers() {
         List<EventUser> expectedUsers =
                 inMemoryRepository.getAll().stream().collect(Collectors.toList());
-        List<EventUser> actualUsers = eventUserController.getAllUsers();
-        assertThat(actualUsers).isEqualTo(expectedUsers);
+        try (Stream<EventUser> actualUsers = eventUserController.streamAllUsers()) {
+            assertThat(actualUsers.collect(Collectors.toList())).isEqualTo(expectedUsers);
+        }
     }
 }
@@ -4,11 +4,17 @@ import static com.google.common.truth.Truth.assertThat;
 
 import edu.northeastern.cs5500.starterbot.command.ListMyEventsCommand;
 import edu.northeastern.cs5500.starterbot.command.ListUpcomingPublicEventsCommand;
+import edu.northeastern.cs5500.starterbot.model.Attendance;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.EventSummary;
 import edu.northeastern.cs5500.starterbot.model.StudyEvent;
 import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
 import edu.northeastern.cs5500.starterbot.model.StudyEventType;
+import edu.northeastern.cs5500.starterbot.repository.AttendanceStore;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.Update;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
@@ -20,6 +26,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.bson.types.ObjectId;
@@ -27,16 +40,19 @@ import org.junit.jupiter.api.Test;
 
 public class StudyEventControllerTest {
 
-    public static final String USER_ID_1 = "23h5ikoqaehokljhaoe";
-    public static final String USER_ID_2 = "65f79ec5023ead72b483b55d";
-    static final String USER_ID_3 = "test";
+    public static final String USER_ID_1 = "230508143829221376";
+    public static final String USER_ID_2 = "657951502345672835";
+    static final String USER_ID_3 = "734219008562233344";
+    static final String ATTENDEE_ID_1 = "234456789012345678";
+    static final String ATTENDEE_ID_2 = "986543210987654321";
     public List<String> eventIDs;
     public List<StudyEvent> studyEvents;
 
     public StudyEventController getStudyEventController() {
         eventIDs = new ArrayList<>();
         studyEvents = new ArrayList<>();
-        InMemoryRepository<StudyEvent> inMemoryRepository = new InMemoryRepository<StudyEvent>();
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<>(StudyEvent::copy);
         StudyEvent studyEvent = getRandomStudyEventInFuture(USER_ID_2);
         StudyEvent studyEventInPast = getRandomStudyEventInPast(USER_ID_2);
         Objects.requireNonNull(studyEvent);
@@ -75,11 +91,10 @@ public class StudyEventControllerTest {
         studyEvent.setAttachmentFiles(
                 Arrays.asList("https://jda.wiki/using-jda/interactions/#slash-commands"));
         studyEvent.setMaxAttendees(2);
-        List<String> attendeeList = new ArrayList<>();
-        attendeeList.add("65f79ec5023ead72b483b55d");
-        studyEvent.setAttendeesList(attendeeList);
+        studyEvent.setAttendeesList(AttendeeSet.of(657951502345672835L));
+        studyEvent.setAttendeeCount(1);
         studyEvent.setMaxWaitlListAllowed(5);
-        studyEvent.setWaitListAttendeesList(Arrays.asList("65f79ec5023ead72b4sd"));
+        studyEvent.setWaitListAttendeesList(AttendeeSet.of(657951502345672899L));
 
         return studyEvent;
     }
@@ -105,11 +120,10 @@ public class StudyEventControllerTest {
         studyEvent.setAttachmentFiles(
                 Arrays.asList("https://jda.wiki/using-jda/interactions/#slash-commands"));
         studyEvent.setMaxAttendees(2);
-        List<String> attendeeList = new ArrayList<>();
-        attendeeList.add("65f79ec5023ead72b483b55d");
-        studyEvent.setAttendeesList(attendeeList);
+        studyEvent.setAttendeesList(AttendeeSet.of(657951502345672835L));
+        studyEvent.setAttendeeCount(1);
         studyEvent.setMaxWaitlListAllowed(5);
-        studyEvent.setWaitListAttendeesList(Arrays.asList("65f79ec5023ead72b4sd"));
+        studyEvent.setWaitListAttendeesList(AttendeeSet.of(657951502345672899L));
 
         return studyEvent;
     }
@@ -118,7 +132,7 @@ public class StudyEventControllerTest {
     void testAlreadyRSVPAttendee() {
         StudyEventController studyEventController = getStudyEventController();
         String expectedAddAttendee =
-                studyEventController.addAttendee("65f79ec5023ead72b483b55d", eventIDs.get(0));
+                studyEventController.addAttendee("657951502345672835", eventIDs.get(0));
         assertThat(expectedAddAttendee)
                 .isEqualTo("You have already RSVP'd to the CS5500 project research event.");
     }
@@ -126,21 +140,26 @@ public class StudyEventControllerTest {
     @Test
     void testAddandRemoveNewRSVPAttendee() {
         StudyEventController studyEventController = getStudyEventController();
-        String expectedAddAttendee = studyEventController.addAttendee("23er456", eventIDs.get(0));
+        String expectedAddAttendee =
+                studyEventController.addAttendee(ATTENDEE_ID_1, eventIDs.get(0));
         assertThat(expectedAddAttendee)
                 .isEqualTo("You have successfully RSVP'd to the CS5500 project research event.");
+        assertThat(studyEventController.getEventById(eventIDs.get(0)).getAttendeeCount())
+                .isEqualTo(2);
         String expectedRemoveAttendee =
-                studyEventController.removeAttendee("23er456", eventIDs.get(0));
+                studyEventController.removeAttendee(ATTENDEE_ID_1, eventIDs.get(0));
         assertThat(expectedRemoveAttendee)
                 .isEqualTo(
                         "You have successfully un-RSVP'd from the CS5500 project research event.");
+        assertThat(studyEventController.getEventById(eventIDs.get(0)).getAttendeeCount())
+                .isEqualTo(1);
     }
 
     @Test
     void testRemoveNonAttendee() {
         StudyEventController studyEventController = getStudyEventController();
         String expectedRemoveAttendee =
-                studyEventController.removeAttendee("23er456", eventIDs.get(0));
+                studyEventController.removeAttendee(ATTENDEE_ID_1, eventIDs.get(0));
         assertThat(expectedRemoveAttendee)
                 .isEqualTo("You have already un-RSVP'd from the CS5500 project research event.");
     }
@@ -148,20 +167,261 @@ public class StudyEventControllerTest {
     @Test
     void testRSVPAtFullCapactiy() {
         StudyEventController studyEventController = getStudyEventController();
-        studyEventController.addAttendee("23er456", eventIDs.get(0));
-        String addAttendee3rdAttendee = studyEventController.addAttendee("98ut65", eventIDs.get(0));
+        studyEventController.addAttendee(ATTENDEE_ID_1, eventIDs.get(0));
+        String addAttendee3rdAttendee =
+                studyEventController.addAttendee(ATTENDEE_ID_2, eventIDs.get(0));
         assertThat(addAttendee3rdAttendee)
                 .isEqualTo(
                         "CS5500 project research has reached full capacity! RSVPs are no longer available.");
     }
 
+    @Test
+    void testCoalescedRsvpsGetTheirOwnResults() {
+        StudyEventController studyEventController = getStudyEventController();
+        studyEventController.rsvpCoalescer =
+                new RsvpCoalescer(
+                        20,
+                        studyEventController.rsvpWriterExecutor,
+                        studyEventController::applyRsvps);
+        String eventId = eventIDs.get(0);
+        ObjectId eventObjectId = new ObjectId(eventId);
+        RsvpCoalescer coalescer = studyEventController.rsvpCoalescer;
+
+        // Submitted together, so that they are written as one batch
+        List<CompletableFuture<String>> results =
+                List.of(
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(ATTENDEE_ID_1), true),
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(ATTENDEE_ID_2), true),
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(USER_ID_2), true),
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(USER_ID_2), false),
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(USER_ID_3), false),
+                        coalescer.submit(eventObjectId, AttendeeSet.parseId(USER_ID_3), true));
+
+        assertThat(results.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .containsExactly(
+                        "You have successfully RSVP'd to the CS5500 project research event.",
+                        "CS5500 project research has reached full capacity! RSVPs are no longer available.",
+                        "You have already RSVP'd to the CS5500 project research event.",
+                        "You have successfully un-RSVP'd from the CS5500 project research event.",
+                        "You have already un-RSVP'd from the CS5500 project research event.",
+                        "You have successfully RSVP'd to the CS5500 project research event.")
+                .inOrder();
+        StudyEvent studyEvent = studyEventController.getEventById(eventId);
+        assertThat(studyEvent.getAttendeesList())
+                .containsExactly(
+                        AttendeeSet.parseId(ATTENDEE_ID_1), AttendeeSet.parseId(USER_ID_3));
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(2);
+    }
+
+    private static RsvpCoalescer.Rsvp rsvp(String userId, boolean attending) {
+        return new RsvpCoalescer.Rsvp(AttendeeSet.parseId(userId), attending, null);
+    }
+
+    private static List<String> results(List<RsvpCoalescer.Rsvp> rsvps) {
+        return rsvps.stream().map(rsvp -> rsvp.getResult().join()).collect(Collectors.toList());
+    }
+
+    @Test
+    void testRejectedRsvpsDoNotFailTheRestOfTheirBatch() {
+        StudyEventController studyEventController = getStudyEventController();
+        String eventId = eventIDs.get(0);
+        // USER_ID_2 already attends, and one seat is left
+        List<RsvpCoalescer.Rsvp> rsvps =
+                List.of(
+                        rsvp(USER_ID_2, true),
+                        rsvp(ATTENDEE_ID_1, true),
+                        rsvp(ATTENDEE_ID_2, true),
+                        rsvp(USER_ID_3, false));
+
+        studyEventController.applyRsvps(new ObjectId(eventId), rsvps);
+
+        assertThat(results(rsvps))
+                .containsExactly(
+                        "You have already RSVP'd to the CS5500 project research event.",
+                        "You have successfully RSVP'd to the CS5500 project research event.",
+                        "CS5500 project research has reached full capacity! RSVPs are no longer available.",
+                        "You have already un-RSVP'd from the CS5500 project research event.")
+                .inOrder();
+        StudyEvent studyEvent = studyEventController.getEventById(eventId);
+        assertThat(studyEvent.getAttendeesList())
+                .containsExactly(
+                        AttendeeSet.parseId(USER_ID_2), AttendeeSet.parseId(ATTENDEE_ID_1));
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testBatchIsAppliedRequestByRequestWhenTheEventChanged() {
+        AtomicBoolean changed = new AtomicBoolean();
+        InMemoryRepository<StudyEvent> repository =
+                new InMemoryRepository<>(StudyEvent::copy) {
+                    @Override
+                    public StudyEvent get(@Nonnull ObjectId id) {
+                        StudyEvent event = super.get(id);
+                        if (changed.compareAndSet(false, true)) {
+                            // Another RSVP takes the last seat after the batch read the event
+                            patch(
+                                    id,
+                                    Update.<StudyEvent>of()
+                                            .set(
+                                                    StudyEvent.ATTENDEES_FIELD,
+                                                    StudyEvent::setAttendeesList,
+                                                    AttendeeSet.of(
+                                                            AttendeeSet.parseId(USER_ID_2),
+                                                            AttendeeSet.parseId(USER_ID_3)))
+                                            .set(
+                                                    StudyEvent.ATTENDEE_COUNT_FIELD,
+                                                    StudyEvent::setAttendeeCount,
+                                                    2));
+                        }
+                        return event;
+                    }
+                };
+        StudyEvent studyEvent = repository.add(getRandomStudyEventInFuture(USER_ID_2));
+        StudyEventController studyEventController = new StudyEventController(repository);
+        List<RsvpCoalescer.Rsvp> rsvps = List.of(rsvp(ATTENDEE_ID_1, true), rsvp(USER_ID_2, false));
+
+        studyEventController.applyRsvps(studyEvent.getId(), rsvps);
+
+        // Decided against the event as it is now, not as the batch read it
+        assertThat(results(rsvps))
+                .containsExactly(
+                        "CS5500 project research has reached full capacity! RSVPs are no longer available.",
+                        "You have successfully un-RSVP'd from the CS5500 project research event.")
+                .inOrder();
+        StudyEvent updated = repository.get(studyEvent.getId());
+        assertThat(updated.getAttendeesList()).containsExactly(AttendeeSet.parseId(USER_ID_3));
+        assertThat(updated.getAttendeeCount()).isEqualTo(1);
+    }
+
+    private StudyEventController getStudyEventControllerWithAttendanceStore() {
+        StudyEventController studyEventController = getStudyEventController();
+        AttendanceStore attendanceStore =
+                new AttendanceStore(
+                        new InMemoryRepository<Attendance>(Attendance::copy)
+                                .withUniqueIndex(
+                                        "eventId_userId",
+                                        attendance ->
+                                                List.of(
+                                                        attendance.getEventId(),
+                                                        attendance.getUserId())));
+        attendanceStore.moveAttendeesFrom(studyEventController.studyEventRepository);
+        studyEventController.attendanceStore = attendanceStore;
+        return studyEventController;
+    }
+
+    @Test
+    void testRsvpWithAttendanceStore() {
+        StudyEventController studyEventController = getStudyEventControllerWithAttendanceStore();
+        String eventId = eventIDs.get(0);
+        StudyEvent studyEvent = studyEventController.getEventById(eventId);
+        // The attendee held in the event was moved into the store
+        assertThat(studyEvent.getAttendeesList()).isEmpty();
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(1);
+
+        assertThat(studyEventController.addAttendee(USER_ID_2, eventId))
+                .isEqualTo("You have already RSVP'd to the CS5500 project research event.");
+        assertThat(studyEventController.addAttendee(ATTENDEE_ID_1, eventId))
+                .isEqualTo("You have successfully RSVP'd to the CS5500 project research event.");
+        assertThat(studyEventController.addAttendee(ATTENDEE_ID_1, eventId))
+                .isEqualTo("You have already RSVP'd to the CS5500 project research event.");
+        assertThat(studyEventController.addAttendee(ATTENDEE_ID_2, eventId))
+                .isEqualTo(
+                        "CS5500 project research has reached full capacity! RSVPs are no longer available.");
+        studyEvent = studyEventController.getEventById(eventId);
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(2);
+        assertThat(studyEventController.getAttendees(studyEvent))
+                .containsExactly(
+                        AttendeeSet.parseId(ATTENDEE_ID_1), AttendeeSet.parseId(USER_ID_2));
+
+        EventFilter filter = EventFilter.builder().organizerId(USER_ID_2).build();
+        EventSummary summary =
+                studyEventController
+                        .getUpcomingEventSummariesPage(filter, null, 5, ATTENDEE_ID_1)
+                        .getEvents()
+                        .get(0);
+        assertThat(summary.getAttendeeCount()).isEqualTo(2);
+        assertThat(summary.isRsvped()).isTrue();
+
+        assertThat(studyEventController.removeAttendee(ATTENDEE_ID_1, eventId))
+                .isEqualTo(
+                        "You have successfully un-RSVP'd from the CS5500 project research event.");
+        assertThat(studyEventController.removeAttendee(ATTENDEE_ID_1, eventId))
+                .isEqualTo("You have already un-RSVP'd from the CS5500 project research event.");
+        assertThat(studyEventController.getEventById(eventId).getAttendeeCount()).isEqualTo(1);
+        assertThat(studyEventController.addAttendee(ATTENDEE_ID_2, eventId))
+                .isEqualTo("You have successfully RSVP'd to the CS5500 project research event.");
+    }
+
+    @Test
+    void testUnrsvpFromEventDeletedMeanwhileWithAttendanceStore() {
+        StudyEventController studyEventController = getStudyEventControllerWithAttendanceStore();
+        ObjectId eventId = new ObjectId(eventIDs.get(0));
+        studyEventController.studyEventRepository.delete(eventId);
+
+        assertThat(studyEventController.removeAttendee(USER_ID_2, eventIDs.get(0)))
+                .isEqualTo(StudyEventController.EVENT_NO_LONGER_EXISTS_MESSAGE);
+        assertThat(
+                        studyEventController.attendanceStore.contains(
+                                eventId, AttendeeSet.parseId(USER_ID_2)))
+                .isFalse();
+    }
+
+    @Test
+    void testUnrsvpIsPutBackWhenTheSeatCannotBeGivenBack() {
+        StudyEventController studyEventController = getStudyEventControllerWithAttendanceStore();
+        ObjectId eventId = new ObjectId(eventIDs.get(0));
+        InMemoryRepository<StudyEvent> failingRepository =
+                new InMemoryRepository<>(StudyEvent::copy) {
+                    @Override
+                    public StudyEvent patch(
+                            @Nonnull ObjectId id, @Nonnull Update<StudyEvent> update) {
+                        throw new IllegalStateException("database unavailable");
+                    }
+                };
+        failingRepository.add(studyEventController.studyEventRepository.get(eventId));
+        studyEventController.studyEventRepository = failingRepository;
+
+        assertThat(studyEventController.removeAttendee(USER_ID_2, eventIDs.get(0)))
+                .isEqualTo(StudyEventController.GENERIC_ERROR);
+        assertThat(
+                        studyEventController.attendanceStore.contains(
+                                eventId, AttendeeSet.parseId(USER_ID_2)))
+                .isTrue();
+        assertThat(failingRepository.get(eventId).getAttendeeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentRsvpWithAttendanceStoreDoesNotOverbook() throws Exception {
+        StudyEventController studyEventController = getStudyEventControllerWithAttendanceStore();
+        String eventId = eventIDs.get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 40; userId++) {
+            String attendeeId = String.valueOf(userId);
+            futures.add(
+                    executor.submit(() -> studyEventController.addAttendee(attendeeId, eventId)));
+        }
+        int accepted = 0;
+        for (Future<String> future : futures) {
+            if (future.get().startsWith(StudyEventController.SUCCESS_RSVP_MESSAGE)) {
+                accepted++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(accepted).isEqualTo(1);
+        StudyEvent studyEvent = studyEventController.getEventById(eventId);
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(2);
+        assertThat(studyEventController.getAttendees(studyEvent)).hasSize(2);
+    }
+
     @Test
     void testUserIdOrEventIdEmptyStrinAddAttendee() {
         StudyEventController studyEventController = getStudyEventController();
         String expectedEmptyUser = studyEventController.addAttendee("", eventIDs.get(0));
         assertThat(expectedEmptyUser).isEqualTo("Something went wrong! Please try again.");
 
-        String expectedEmptyEvent = studyEventController.addAttendee("98ut65", "");
+        String expectedEmptyEvent = studyEventController.addAttendee(ATTENDEE_ID_2, "");
         assertThat(expectedEmptyEvent).isEqualTo("Something went wrong! Please try again.");
 
         String expectedEmptyEventUser = studyEventController.addAttendee("", "");
@@ -175,6 +435,10 @@ public class StudyEventControllerTest {
 
         String expectedNullUser = studyEventController.addAttendee(null, "");
         assertThat(expectedNullUser).isEqualTo("Something went wrong! Please try again.");
+
+        String expectedInvalidUser =
+                studyEventController.addAttendee("not-a-snowflake", eventIDs.get(0));
+        assertThat(expectedInvalidUser).isEqualTo("Something went wrong! Please try again.");
     }
 
     @Test
@@ -183,7 +447,7 @@ public class StudyEventControllerTest {
         String expectedEmptyUser = studyEventController.removeAttendee("", eventIDs.get(0));
         assertThat(expectedEmptyUser).isEqualTo("Something went wrong! Please try again.");
 
-        String expectedEmptyEvent = studyEventController.removeAttendee("98ut65", "");
+        String expectedEmptyEvent = studyEventController.removeAttendee(ATTENDEE_ID_2, "");
         assertThat(expectedEmptyEvent).isEqualTo("Something went wrong! Please try again.");
 
         String expectedEmptyEventUser = studyEventController.removeAttendee("", "");
@@ -250,179 +514,6 @@ public class StudyEventControllerTest {
         assertThat(actualEvent).isEqualTo(expected);
     }
 
-    @Test
-    void testFilterEventsByLocationNotNull() {
-        // Create a list of study events
-        List<StudyEvent> events = new ArrayList<>();
-        StudyEventLocation location = StudyEventLocation.ONLINE;
-
-        StudyEventController study = new StudyEventController(null);
-        // Choose a non-null location
-
-        // Add some study events with the chosen location
-        StudyEvent event1 = new StudyEvent();
-        event1.setLocation(location);
-        events.add(event1);
-
-        StudyEvent event2 = new StudyEvent();
-        event2.setLocation(location);
-        events.add(event2);
-
-        // Call the method to be tested
-        List<StudyEvent> filteredEvents = study.filterEventsByLocation(events, location);
-
-        // Assert that only events with the chosen location are returned
-        assertThat(2).isEqualTo(filteredEvents.size());
-        for (StudyEvent event : filteredEvents) {
-            assertThat(location).isEqualTo(event.getLocation());
-        }
-    }
-
-    @Test
-    void testFilterEventsByLocationNull() {
-        // Create a list of study events
-        List<StudyEvent> events = new ArrayList<>();
-        StudyEventLocation location = null; // Choose a null location
-
-        // Add some study events with various locations
-        StudyEvent event1 = new StudyEvent();
-        event1.setLocation(StudyEventLocation.ONLINE);
-        events.add(event1);
-
-        StudyEventController study = new StudyEventController(null);
-
-        // Call the method to be tested
-        List<StudyEvent> filteredEvents = study.filterEventsByLocation(events, location);
-
-        // Assert that all events are returned since location is null
-        assertThat(events.size()).isEqualTo(filteredEvents.size());
-    }
-    // Helper method to generate a study event with a specified start date
-    private StudyEvent createStudyEvent(Date start) {
-        StudyEvent event = new StudyEvent();
-        event.setStart(start);
-        return event;
-    }
-
-    @Test
-    void testFilterEventsForThisWeek() {
-        // Get the current week's start and end dates
-        LocalDateTime startOfWeek =
-                LocalDateTime.now().with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime endOfWeek = startOfWeek.plusDays(7).truncatedTo(ChronoUnit.DAYS);
-
-        // Create study events for the current week
-        List<StudyEvent> events = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            events.add(
-                    createStudyEvent(
-                            Date.from(
-                                    startOfWeek
-                                            .plusDays(i)
-                                            .atZone(ZoneId.systemDefault())
-                                            .toInstant())));
-        }
-
-        // Create study events outside of the current week
-        events.add(
-                createStudyEvent(
-                        Date.from(
-                                startOfWeek
-                                        .minusDays(1)
-                                        .atZone(ZoneId.systemDefault())
-                                        .toInstant())));
-        events.add(
-                createStudyEvent(
-                        Date.from(
-                                endOfWeek.plusDays(1).atZone(ZoneId.systemDefault()).toInstant())));
-        StudyEventController study = new StudyEventController(null);
-
-        // Filter events for the current week
-        List<StudyEvent> filteredEvents = study.filterEventsForThisWeek(events);
-
-        // Assert that only events within the current week are returned
-        for (StudyEvent event : filteredEvents) {
-            assertThat(
-                            event.getStart()
-                                    .after(
-                                            Date.from(
-                                                    startOfWeek
-                                                            .atZone(ZoneId.systemDefault())
-                                                            .toInstant())))
-                    .isTrue();
-            assertThat(
-                            event.getStart()
-                                    .before(
-                                            Date.from(
-                                                    endOfWeek
-                                                            .atZone(ZoneId.systemDefault())
-                                                            .toInstant())))
-                    .isTrue();
-        }
-    }
-
-    @Test
-    void testFilterEventsForThisMonth() {
-        // Get the current month's start and end dates
-        LocalDateTime startOfMonth =
-                LocalDateTime.now().withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime endOfMonth =
-                startOfMonth.plusMonths(1).minusDays(1).truncatedTo(ChronoUnit.DAYS);
-
-        // Create study events for the current month
-        List<StudyEvent> events = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            events.add(
-                    createStudyEvent(
-                            Date.from(
-                                    startOfMonth
-                                            .plusDays(i)
-                                            .atZone(ZoneId.systemDefault())
-                                            .toInstant())));
-        }
-
-        // Create study events outside of the current month
-        events.add(
-                createStudyEvent(
-                        Date.from(
-                                startOfMonth
-                                        .minusDays(1)
-                                        .atZone(ZoneId.systemDefault())
-                                        .toInstant())));
-        events.add(
-                createStudyEvent(
-                        Date.from(
-                                endOfMonth
-                                        .plusDays(1)
-                                        .atZone(ZoneId.systemDefault())
-                                        .toInstant())));
-
-        // Filter events for the current month
-        StudyEventController study = new StudyEventController(null);
-
-        List<StudyEvent> filteredEvents = study.filterEventsForThisMonth(events);
-
-        // Assert that only events within the current month are returned
-        for (StudyEvent event : filteredEvents) {
-            assertThat(
-                            event.getStart()
-                                    .after(
-                                            Date.from(
-                                                    startOfMonth
-                                                            .atZone(ZoneId.systemDefault())
-                                                            .toInstant())))
-                    .isTrue();
-            assertThat(
-                            event.getStart()
-                                    .before(
-                                            Date.from(
-                                                    endOfMonth
-                                                            .atZone(ZoneId.systemDefault())
-                                                            .toInstant())))
-                    .isTrue();
-        }
-    }
-
     @Test
     public void testBuildLocationOption() {
         ListMyEventsCommand builder = new ListMyEventsCommand();
@@ -536,4 +627,236 @@ public class StudyEventControllerTest {
         boolean updateResult = studyEventController.updateEvent(eventId, updates);
         assertThat(updateResult).isFalse(); // event does not exist
     }
+
+    @Test
+    void testGetUpcomingEventsPage() {
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<StudyEvent>(StudyEvent::copy)
+                        .withIndex(StudyEvent.ORGANIZER_FIELD, StudyEvent::getOrganizer)
+                        .withRangeIndex(StudyEvent.START_FIELD, StudyEvent::getStart)
+                        .withEnumIndex(
+                                StudyEvent.EVENT_TYPE_FIELD,
+                                StudyEventType.class,
+                                StudyEvent::getEventType);
+        List<StudyEvent> upcomingEvents = new ArrayList<>();
+        Date now = new Date();
+        for (int i = 0; i < 7; i++) {
+            StudyEvent studyEvent = getRandomStudyEventInFuture(USER_ID_1);
+            // Two events share each start time, so pages must break ties by id
+            studyEvent.setStart(Date.from(now.toInstant().plus(i / 2 + 1, ChronoUnit.DAYS)));
+            upcomingEvents.add(inMemoryRepository.add(studyEvent));
+        }
+        inMemoryRepository.add(getRandomStudyEventInPast(USER_ID_1));
+        StudyEventController studyEventController = new StudyEventController(inMemoryRepository);
+        EventFilter filter = EventFilter.builder().organizerId(USER_ID_1).build();
+
+        EventPage<StudyEvent> firstPage = studyEventController.getUpcomingEventsPage(filter, null, 3);
+        assertThat(firstPage.getEvents())
+                .containsExactlyElementsIn(upcomingEvents.subList(0, 3))
+                .inOrder();
+        assertThat(firstPage.isFirst()).isTrue();
+        assertThat(firstPage.getPreviousCursor()).isNull();
+
+        EventPage<StudyEvent> secondPage =
+                studyEventController.getUpcomingEventsPage(filter, firstPage.getNextCursor(), 3);
+        assertThat(secondPage.getEvents())
+                .containsExactlyElementsIn(upcomingEvents.subList(3, 6))
+                .inOrder();
+        assertThat(secondPage.isFirst()).isFalse();
+        assertThat(secondPage.isLast()).isFalse();
+
+        EventPage<StudyEvent> lastPage =
+                studyEventController.getUpcomingEventsPage(filter, secondPage.getNextCursor(), 3);
+        assertThat(lastPage.getEvents()).containsExactly(upcomingEvents.get(6));
+        assertThat(lastPage.isLast()).isTrue();
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        EventPage<StudyEvent> previousPage =
+                studyEventController.getUpcomingEventsPage(
+                        filter, lastPage.getPreviousCursor(), 3);
+        assertThat(previousPage.getEvents())
+                .containsExactlyElementsIn(upcomingEvents.subList(3, 6))
+                .inOrder();
+        assertThat(previousPage.isFirst()).isFalse();
+        assertThat(previousPage.isLast()).isFalse();
+    }
+
+    @Test
+    void testGetUpcomingEventSummariesPage() {
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = getRandomStudyEventInFuture(USER_ID_1);
+        studyEvent.setStart(Date.from(new Date().toInstant().plus(1, ChronoUnit.DAYS)));
+        inMemoryRepository.add(studyEvent);
+        StudyEventController studyEventController = new StudyEventController(inMemoryRepository);
+        EventFilter filter = EventFilter.builder().organizerId(USER_ID_1).build();
+
+        EventPage<EventSummary> page =
+                studyEventController.getUpcomingEventSummariesPage(filter, null, 5, USER_ID_2);
+        assertThat(page.getEvents()).hasSize(1);
+        EventSummary summary = page.getEvents().get(0);
+        assertThat(summary.getId()).isEqualTo(studyEvent.getId());
+        assertThat(summary.getAttendeeCount()).isEqualTo(1);
+        assertThat(summary.isRsvped()).isTrue();
+
+        page = studyEventController.getUpcomingEventSummariesPage(filter, null, 5, USER_ID_3);
+        assertThat(page.getEvents().get(0).isRsvped()).isFalse();
+    }
+
+    @Test
+    void testGetUpcomingEventsPageWithOpenSeatsOnly() {
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<>(StudyEvent::copy);
+        Date tomorrow = Date.from(new Date().toInstant().plus(1, ChronoUnit.DAYS));
+        StudyEvent open = getRandomStudyEventInFuture(USER_ID_1);
+        open.setStart(tomorrow);
+        StudyEvent full = getRandomStudyEventInFuture(USER_ID_1);
+        full.setStart(tomorrow);
+        full.setMaxAttendees(1);
+        StudyEvent unlimited = getRandomStudyEventInFuture(USER_ID_1);
+        unlimited.setStart(tomorrow);
+        unlimited.setMaxAttendees(0);
+        inMemoryRepository.add(open);
+        inMemoryRepository.add(full);
+        inMemoryRepository.add(unlimited);
+        StudyEventController studyEventController = new StudyEventController(inMemoryRepository);
+
+        EventFilter filter =
+                EventFilter.builder().organizerId(USER_ID_1).openSeatsOnly(true).build();
+        assertThat(studyEventController.getUpcomingEventsPage(filter, null, 5).getEvents())
+                .containsExactly(open, unlimited);
+
+        studyEventController.addAttendee(ATTENDEE_ID_1, open.getId().toString());
+        assertThat(studyEventController.getUpcomingEventsPage(filter, null, 5).getEvents())
+                .containsExactly(unlimited);
+    }
+
+    @Test
+    void testGetUpcomingEventsPageInDateWindow() {
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<StudyEvent>(StudyEvent::copy)
+                        .withRangeIndex(StudyEvent.START_FIELD, StudyEvent::getStart);
+        List<StudyEvent> upcomingEvents = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= 5; i++) {
+            StudyEvent studyEvent = getRandomStudyEventInFuture(USER_ID_1);
+            studyEvent.setStart(
+                    Date.from(
+                            today.plusDays(i)
+                                    .atTime(12, 0)
+                                    .atZone(ZoneId.systemDefault())
+                                    .toInstant()));
+            upcomingEvents.add(inMemoryRepository.add(studyEvent));
+        }
+        StudyEventController studyEventController = new StudyEventController(inMemoryRepository);
+
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(USER_ID_1)
+                        .from(today.plusDays(2))
+                        .to(today.plusDays(3))
+                        .build();
+        EventPage<StudyEvent> page = studyEventController.getUpcomingEventsPage(filter, null, 5);
+        assertThat(page.getEvents())
+                .containsExactlyElementsIn(upcomingEvents.subList(1, 3))
+                .inOrder();
+        assertThat(page.isLast()).isTrue();
+
+        filter = EventFilter.builder().organizerId(USER_ID_1).from(today.plusDays(4)).build();
+        page = studyEventController.getUpcomingEventsPage(filter, null, 5);
+        assertThat(page.getEvents())
+                .containsExactlyElementsIn(upcomingEvents.subList(3, 5))
+                .inOrder();
+    }
+
+    /** Reads the upcoming events of USER_ID_1 that match a location and period, in one page. */
+    private List<StudyEvent> getUpcomingEvents(
+            List<StudyEvent> events, StudyEventLocation location, String periods) {
+        InMemoryRepository<StudyEvent> inMemoryRepository =
+                new InMemoryRepository<>(StudyEvent::copy);
+        for (StudyEvent event : events) {
+            event.setOrganizer(USER_ID_1);
+            inMemoryRepository.add(event);
+        }
+        EventFilter filter =
+                EventFilter.builder()
+                        .organizerId(USER_ID_1)
+                        .location(location)
+                        .periods(periods)
+                        .build();
+        return new StudyEventController(inMemoryRepository)
+                .getUpcomingEventsPage(filter, null, events.size())
+                .getEvents();
+    }
+
+    private StudyEvent createStudyEvent(LocalDateTime start, StudyEventLocation location) {
+        StudyEvent event = new StudyEvent();
+        event.setStart(Date.from(start.atZone(ZoneId.systemDefault()).toInstant()));
+        event.setLocation(location);
+        return event;
+    }
+
+    @Test
+    void testGetUpcomingEventsPageByLocation() {
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+        StudyEvent online = createStudyEvent(tomorrow, StudyEventLocation.ONLINE);
+        StudyEvent alsoOnline = createStudyEvent(tomorrow, StudyEventLocation.ONLINE);
+        StudyEvent boston = createStudyEvent(tomorrow, StudyEventLocation.BOSTON);
+        List<StudyEvent> events = List.of(online, alsoOnline, boston);
+
+        assertThat(getUpcomingEvents(events, StudyEventLocation.ONLINE, null))
+                .containsExactly(online, alsoOnline);
+        // Every location matches when none is chosen
+        assertThat(getUpcomingEvents(events, null, null))
+                .containsExactly(online, alsoOnline, boston);
+    }
+
+    /**
+     * Creates an event on each of the ten days from the start of a period, one the day before and
+     * one the day after its end.
+     */
+    private List<StudyEvent> createEventsAround(LocalDateTime start, LocalDateTime end) {
+        List<StudyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(createStudyEvent(start.plusDays(i), StudyEventLocation.ONLINE));
+        }
+        events.add(createStudyEvent(start.minusDays(1), StudyEventLocation.ONLINE));
+        events.add(createStudyEvent(end.plusDays(1), StudyEventLocation.ONLINE));
+        return events;
+    }
+
+    /** @return the events that have not started and start strictly between the bounds */
+    private static List<StudyEvent> upcomingBetween(
+            List<StudyEvent> events, LocalDateTime start, LocalDateTime end) {
+        Date now = new Date();
+        Date after = Date.from(start.atZone(ZoneId.systemDefault()).toInstant());
+        Date before = Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
+        return events.stream()
+                .filter(event -> event.getStart().after(now))
+                .filter(event -> event.getStart().after(after))
+                .filter(event -> event.getStart().before(before))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testGetUpcomingEventsPageForThisWeek() {
+        LocalDateTime startOfWeek =
+                LocalDateTime.now().with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime endOfWeek = startOfWeek.plusDays(7);
+        List<StudyEvent> events = createEventsAround(startOfWeek, endOfWeek);
+
+        assertThat(getUpcomingEvents(events, null, "this_week"))
+                .containsExactlyElementsIn(upcomingBetween(events, startOfWeek, endOfWeek));
+    }
+
+    @Test
+    void testGetUpcomingEventsPageForThisMonth() {
+        LocalDateTime startOfMonth =
+                LocalDateTime.now().withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusDays(1);
+        List<StudyEvent> events = createEventsAround(startOfMonth, endOfMonth);
+
+        assertThat(getUpcomingEvents(events, null, "this_month"))
+                .containsExactlyElementsIn(upcomingBetween(events, startOfMonth, endOfMonth));
+    }
 }
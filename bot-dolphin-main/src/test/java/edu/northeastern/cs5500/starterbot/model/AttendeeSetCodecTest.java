@@ -0,0 +1,80 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+class AttendeeSetCodecTest {
+
+    private final AttendeeSetCodec codec = new AttendeeSetCodec();
+
+    private AttendeeSet decode(BsonValue... elements) {
+        BsonReader reader =
+                new BsonDocumentReader(
+                        new BsonDocument("attendees", new BsonArray(List.of(elements))));
+        reader.readStartDocument();
+        reader.readName();
+        AttendeeSet attendees = codec.decode(reader, DecoderContext.builder().build());
+        reader.readEndDocument();
+        return attendees;
+    }
+
+    private BsonArray encode(AttendeeSet attendees) {
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeName("attendees");
+        codec.encode(writer, attendees, EncoderContext.builder().build());
+        writer.writeEndDocument();
+        return document.getArray("attendees");
+    }
+
+    @Test
+    void testDecodesEveryStoredType() {
+        AttendeeSet attendees =
+                decode(
+                        new BsonInt64(1097236519823593482L),
+                        new BsonInt32(42),
+                        new BsonString("1097236519823593483"),
+                        new BsonInt64(42L),
+                        new BsonNull());
+
+        assertThat(attendees)
+                .containsExactly(42L, 1097236519823593482L, 1097236519823593483L)
+                .inOrder();
+        assertThat(decode()).isEmpty();
+    }
+
+    @Test
+    void testKeepsLegacyIdsThatAreNotNumbers() {
+        AttendeeSet attendees = decode(new BsonString("legacy"), new BsonInt64(2L));
+
+        assertThat(attendees).containsExactly(2L);
+        assertThat(attendees.legacyIds()).containsExactly("legacy");
+        // Changing the set and writing it back keeps the legacy id
+        assertThat(encode(attendees.with(1L).without(2L)))
+                .containsExactly(new BsonInt64(1L), new BsonString("legacy"))
+                .inOrder();
+        assertThat(decode(new BsonString("legacy")).legacyIds()).containsExactly("legacy");
+    }
+
+    @Test
+    void testEncodesNumbers() {
+        assertThat(encode(AttendeeSet.of(3L, 1L)))
+                .containsExactly(new BsonInt64(1L), new BsonInt64(3L))
+                .inOrder();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AttendeeSetTest {
+
+    @Test
+    void testWithAtTheEdges() {
+        AttendeeSet attendees = AttendeeSet.of(20L, 30L);
+
+        assertThat(attendees.with(10L)).containsExactly(10L, 20L, 30L).inOrder();
+        assertThat(attendees.with(25L)).containsExactly(20L, 25L, 30L).inOrder();
+        assertThat(attendees.with(40L)).containsExactly(20L, 30L, 40L).inOrder();
+        assertThat(attendees.with(Long.MIN_VALUE).with(Long.MAX_VALUE))
+                .containsExactly(Long.MIN_VALUE, 20L, 30L, Long.MAX_VALUE)
+                .inOrder();
+        assertThat(attendees.with(20L)).isSameInstanceAs(attendees);
+        assertThat(AttendeeSet.of().with(1L)).containsExactly(1L);
+    }
+
+    @Test
+    void testWithoutAtTheEdges() {
+        AttendeeSet attendees = AttendeeSet.of(10L, 20L, 30L);
+
+        assertThat(attendees.without(10L)).containsExactly(20L, 30L).inOrder();
+        assertThat(attendees.without(20L)).containsExactly(10L, 30L).inOrder();
+        assertThat(attendees.without(30L)).containsExactly(10L, 20L).inOrder();
+        assertThat(attendees.without(15L)).isSameInstanceAs(attendees);
+        assertThat(AttendeeSet.of(1L).without(1L)).isEmpty();
+        assertThat(AttendeeSet.of().without(1L)).isEmpty();
+        // The original set is never changed
+        assertThat(attendees).containsExactly(10L, 20L, 30L).inOrder();
+    }
+
+    @Test
+    void testFromUnsortedRemovesDuplicates() {
+        assertThat(AttendeeSet.fromUnsorted(new long[] {3L, 1L, 3L, 2L, 1L, 3L}))
+                .containsExactly(1L, 2L, 3L)
+                .inOrder();
+        assertThat(AttendeeSet.fromUnsorted(new long[] {5L, 5L, 5L})).containsExactly(5L);
+        assertThat(AttendeeSet.fromUnsorted(new long[0])).isSameInstanceAs(AttendeeSet.of());
+        assertThat(AttendeeSet.withAttendees(AttendeeSet.of(2L), List.of(2L, 1L, 1L)))
+                .containsExactly(1L, 2L)
+                .inOrder();
+    }
+
+    @Test
+    void testEqualsAndHashCodeAgreeWithSet() {
+        AttendeeSet attendees = AttendeeSet.of(1L, 2L, -3L);
+        Set<Long> set = Set.of(1L, 2L, -3L);
+
+        assertThat(attendees).isEqualTo(set);
+        assertThat(set).isEqualTo(attendees);
+        assertThat(attendees.hashCode()).isEqualTo(set.hashCode());
+        assertThat(attendees).isEqualTo(AttendeeSet.of(-3L, 2L, 1L));
+        assertThat(attendees).isNotEqualTo(AttendeeSet.of(1L, 2L));
+        assertThat(attendees).isNotEqualTo(Set.of(1L, 2L, 3L));
+        assertThat(AttendeeSet.of().hashCode()).isEqualTo(Set.of().hashCode());
+    }
+
+    @Test
+    void testContains() {
+        AttendeeSet attendees = AttendeeSet.of(10L, 20L);
+
+        assertThat(attendees.contains(10L)).isTrue();
+        assertThat(attendees.contains(Long.valueOf(20L))).isTrue();
+        assertThat(attendees.contains(Integer.valueOf(10))).isFalse();
+        assertThat(attendees.containsUser("20")).isTrue();
+        assertThat(attendees.containsUser("not a snowflake")).isFalse();
+        assertThat(attendees.containsUser(null)).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.Test;
+
+class BsonFieldsTest {
+
+    private static BsonReader readerAt(BsonValue value) {
+        BsonReader reader = new BsonDocumentReader(new BsonDocument("field", value));
+        reader.readStartDocument();
+        reader.readName();
+        return reader;
+    }
+
+    @Test
+    void testReadIntAcceptsAnyNumericType() {
+        assertThat(BsonFields.readInt(readerAt(new BsonInt32(7)), "field")).isEqualTo(7);
+        assertThat(BsonFields.readInt(readerAt(new BsonInt64(7L)), "field")).isEqualTo(7);
+        assertThat(BsonFields.readInt(readerAt(new BsonDouble(7.0)), "field")).isEqualTo(7);
+
+        BsonReader reader = readerAt(new BsonString("7"));
+        assertThat(BsonFields.readInt(reader, "field")).isEqualTo(0);
+        // The value was skipped, so the rest of the document can still be read
+        reader.readEndDocument();
+    }
+
+    @Test
+    void testReadEnumByName() {
+        assertThat(
+                        BsonFields.readEnum(
+                                readerAt(new BsonString("BOSTON")),
+                                "location",
+                                BsonFields.byName(StudyEventLocation.class)))
+                .isEqualTo(StudyEventLocation.BOSTON);
+        assertThat(
+                        BsonFields.readEnum(
+                                readerAt(new BsonString("boston")),
+                                "location",
+                                BsonFields.byName(StudyEventLocation.class)))
+                .isNull();
+    }
+
+    @Test
+    void testStringsRoundTripWithNulls() {
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        BsonFields.writeStrings(writer, "field", Arrays.asList("a", null, "b"));
+        BsonFields.writeStrings(writer, "missing", null);
+        BsonFields.writeString(writer, "missingString", null);
+        writer.writeEndDocument();
+
+        assertThat(document.keySet()).containsExactly("field");
+        assertThat(BsonFields.readStrings(readerAt(document.get("field"))))
+                .containsExactly("a", null, "b")
+                .inOrder();
+    }
+}
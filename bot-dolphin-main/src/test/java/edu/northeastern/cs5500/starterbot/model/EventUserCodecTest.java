@@ -0,0 +1,72 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class EventUserCodecTest {
+
+    private final EventUserCodec codec = new EventUserCodec();
+
+    private BsonDocument encode(EventUser eventUser) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), eventUser, EncoderContext.builder().build());
+        return document;
+    }
+
+    private EventUser decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    void testRoundTripsEveryField() {
+        EventUser eventUser =
+                EventUser.builder()
+                        .id(new ObjectId())
+                        .discordId("1097236519823593482")
+                        .name("name")
+                        .role(EventUserRole.STUDENT)
+                        .email("user@example.com")
+                        .userCalendarAccessToken("access")
+                        .userCalendarRefreshToken("refresh")
+                        .build();
+
+        assertThat(decode(encode(eventUser))).isEqualTo(eventUser);
+    }
+
+    @Test
+    void testRoundTripsNullFields() {
+        EventUser eventUser = new EventUser();
+
+        BsonDocument document = encode(eventUser);
+        assertThat(document).isEmpty();
+        assertThat(decode(document)).isEqualTo(eventUser);
+    }
+
+    @Test
+    void testDecodesStoredNullsAndUnknownValues() {
+        BsonDocument document =
+                new BsonDocument()
+                        .append(EventUser.DISCORD_ID_FIELD, new BsonString("1097236519823593482"))
+                        .append(EventUser.NAME_FIELD, new BsonNull())
+                        .append(EventUser.ROLE_FIELD, new BsonString("PROFESSOR"))
+                        .append("removedField", new BsonInt32(1))
+                        .append(EventUser.EMAIL_FIELD, new BsonString("user@example.com"));
+
+        EventUser eventUser = decode(document);
+
+        assertThat(eventUser.getDiscordId()).isEqualTo("1097236519823593482");
+        assertThat(eventUser.getName()).isNull();
+        assertThat(eventUser.getRole()).isNull();
+        assertThat(eventUser.getEmail()).isEqualTo("user@example.com");
+    }
+}
@@ -0,0 +1,99 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class StudyEventCodecTest {
+
+    private final StudyEventCodec codec = new StudyEventCodec();
+
+    private BsonDocument encode(StudyEvent studyEvent) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(
+                new BsonDocumentWriter(document), studyEvent, EncoderContext.builder().build());
+        return document;
+    }
+
+    private StudyEvent decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    void testRoundTripsEveryField() {
+        StudyEvent studyEvent =
+                StudyEvent.builder()
+                        .id(new ObjectId())
+                        .title("title")
+                        .start(new Date(1000L))
+                        .end(new Date(2000L))
+                        .organizer("1097236519823593482")
+                        .location(StudyEventLocation.SEATTLE)
+                        .eventType(StudyEventType.PUBLIC_EVENT)
+                        .description("description")
+                        .channelId("1097236519823593483")
+                        .attachmentFiles(Arrays.asList("file", null))
+                        .maxAttendees(10)
+                        .attendeesList(AttendeeSet.of(1L, 2L))
+                        .attendeeCount(2)
+                        .maxWaitlListAllowed(5)
+                        .waitListAttendeesList(AttendeeSet.of(3L))
+                        .build();
+
+        assertThat(decode(encode(studyEvent))).isEqualTo(studyEvent);
+    }
+
+    @Test
+    void testRoundTripsNullFields() {
+        StudyEvent studyEvent = new StudyEvent();
+
+        BsonDocument document = encode(studyEvent);
+        // Like the automatic POJO codec, null fields are left out
+        assertThat(document.keySet())
+                .containsExactly(
+                        StudyEvent.MAX_ATTENDEES_FIELD,
+                        StudyEvent.ATTENDEE_COUNT_FIELD,
+                        StudyEvent.MAX_WAITLIST_FIELD);
+        assertThat(decode(document)).isEqualTo(studyEvent);
+    }
+
+    @Test
+    void testDecodesStoredNullsUnknownEnumsAndAnyNumericCounter() {
+        BsonDocument document =
+                new BsonDocument()
+                        .append(StudyEvent.TITLE_FIELD, new BsonNull())
+                        .append(StudyEvent.LOCATION_FIELD, new BsonString("MOON"))
+                        .append(StudyEvent.EVENT_TYPE_FIELD, new BsonString("PUBLIC_EVENT"))
+                        .append(StudyEvent.MAX_ATTENDEES_FIELD, new BsonDouble(10.0))
+                        .append(StudyEvent.ATTENDEE_COUNT_FIELD, new BsonInt64(3L))
+                        .append(StudyEvent.MAX_WAITLIST_FIELD, new BsonInt32(4))
+                        .append("removedField", new BsonDocument("nested", new BsonArray()))
+                        .append(StudyEvent.ATTENDEES_FIELD, new BsonArray())
+                        .append(StudyEvent.WAITLIST_FIELD, new BsonNull());
+
+        StudyEvent studyEvent = decode(document);
+
+        assertThat(studyEvent.getTitle()).isNull();
+        assertThat(studyEvent.getLocation()).isNull();
+        assertThat(studyEvent.getEventType()).isEqualTo(StudyEventType.PUBLIC_EVENT);
+        assertThat(studyEvent.getMaxAttendees()).isEqualTo(10);
+        assertThat(studyEvent.getAttendeeCount()).isEqualTo(3);
+        assertThat(studyEvent.getMaxWaitlListAllowed()).isEqualTo(4);
+        assertThat(studyEvent.getAttendeesList()).isEmpty();
+        assertThat(studyEvent.getWaitListAttendeesList()).isNull();
+    }
+}
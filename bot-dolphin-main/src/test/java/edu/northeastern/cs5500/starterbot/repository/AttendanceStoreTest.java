@@ -0,0 +1,69 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Attendance;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+public class AttendanceStoreTest {
+
+    private static InMemoryRepository<Attendance> attendanceRepository() {
+        return new InMemoryRepository<Attendance>(Attendance::copy)
+                .withUniqueIndex(
+                        "eventId_userId",
+                        attendance -> List.of(attendance.getEventId(), attendance.getUserId()));
+    }
+
+    private static StudyEvent studyEvent(AttendeeSet attendees, int attendeeCount) {
+        StudyEvent studyEvent = new StudyEvent();
+        studyEvent.setAttendeesList(attendees);
+        studyEvent.setAttendeeCount(attendeeCount);
+        return studyEvent;
+    }
+
+    @Test
+    void testRecountCountsRsvpsThatWereNeverCounted() {
+        InMemoryRepository<StudyEvent> studyEvents = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent counted = studyEvents.add(studyEvent(AttendeeSet.of(), 1));
+        StudyEvent uncounted = studyEvents.add(studyEvent(AttendeeSet.of(), 0));
+        StudyEvent empty = studyEvents.add(studyEvent(AttendeeSet.of(), 2));
+        AttendanceStore attendanceStore = new AttendanceStore(attendanceRepository());
+        attendanceStore.add(counted.getId(), 1L);
+        // As if the process stopped before the count was incremented
+        attendanceStore.add(uncounted.getId(), 1L);
+        attendanceStore.add(uncounted.getId(), 2L);
+
+        attendanceStore.recountAttendees(studyEvents);
+
+        assertThat(studyEvents.get(counted.getId()).getAttendeeCount()).isEqualTo(1);
+        assertThat(studyEvents.get(uncounted.getId()).getAttendeeCount()).isEqualTo(2);
+        assertThat(studyEvents.get(empty.getId()).getAttendeeCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testMovingAttendeesOutAndBackKeepsEveryRsvp() {
+        InMemoryRepository<StudyEvent> studyEvents = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = studyEvents.add(studyEvent(AttendeeSet.of(1L, 2L), 2));
+        InMemoryRepository<Attendance> attendances = attendanceRepository();
+        AttendanceStore attendanceStore = new AttendanceStore(attendances);
+
+        attendanceStore.moveAttendeesFrom(studyEvents);
+        assertThat(studyEvents.get(studyEvent.getId()).getAttendeesList()).isEmpty();
+        attendanceStore.add(studyEvent.getId(), 3L);
+        // An RSVP to an event deleted while the store was used
+        attendanceStore.add(new ObjectId(), 4L);
+
+        attendanceStore.moveAttendeesTo(studyEvents);
+        assertThat(studyEvents.get(studyEvent.getId()).getAttendeesList())
+                .containsExactly(1L, 2L, 3L);
+        assertThat(attendances.count()).isEqualTo(0);
+
+        attendanceStore.moveAttendeesTo(studyEvents);
+        assertThat(studyEvents.get(studyEvent.getId()).getAttendeesList())
+                .containsExactly(1L, 2L, 3L);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CachingRepositoryTest {
+
+    private static CachingRepository<StudyEvent> cachingRepository(
+            GenericRepository<StudyEvent> repository) {
+        return new CachingRepository<>(
+                repository, "test", 100, Duration.ofMinutes(1), StudyEvent::copy);
+    }
+
+    @Test
+    void testCallersGetTheirOwnCopy() {
+        InMemoryRepository<StudyEvent> stored = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = new StudyEvent();
+        studyEvent.setTitle("title");
+        studyEvent.setStart(new Date(1000L));
+        studyEvent.setAttachmentFiles(new ArrayList<>(List.of("file")));
+        stored.add(studyEvent);
+        CachingRepository<StudyEvent> repository = cachingRepository(stored);
+
+        StudyEvent first = repository.get(studyEvent.getId());
+        first.setTitle("changed");
+        first.getStart().setTime(2000L);
+        first.getAttachmentFiles().clear();
+
+        StudyEvent second = repository.get(studyEvent.getId());
+        assertThat(second).isNotSameInstanceAs(first);
+        assertThat(second.getTitle()).isEqualTo("title");
+        assertThat(second.getStart()).isEqualTo(new Date(1000L));
+        assertThat(second.getAttachmentFiles()).containsExactly("file");
+    }
+
+    @Test
+    void testAtomicWritesDropTheCachedItem() {
+        InMemoryRepository<StudyEvent> stored = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = new StudyEvent();
+        studyEvent.setAttendeesList(AttendeeSet.of());
+        stored.add(studyEvent);
+        CachingRepository<StudyEvent> repository = cachingRepository(stored);
+        repository.get(studyEvent.getId());
+
+        repository.findOneAndUpdate(
+                Query.byId(studyEvent.getId()),
+                Update.<StudyEvent>of()
+                        .addToSet(
+                                StudyEvent.ATTENDEES_FIELD,
+                                StudyEvent::getAttendeesList,
+                                StudyEvent::setAttendeesList,
+                                1L,
+                                AttendeeSet::withAttendee));
+        assertThat(repository.get(studyEvent.getId()).getAttendeesList()).containsExactly(1L);
+
+        repository.patch(
+                studyEvent.getId(),
+                Update.<StudyEvent>of()
+                        .set(StudyEvent.TITLE_FIELD, StudyEvent::setTitle, "patched"));
+        assertThat(repository.get(studyEvent.getId()).getTitle()).isEqualTo("patched");
+        assertThat(repository.stats().hitCount()).isEqualTo(0);
+    }
+}
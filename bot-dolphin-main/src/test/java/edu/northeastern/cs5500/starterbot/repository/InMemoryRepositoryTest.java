@@ -0,0 +1,346 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.Iterables;
+import edu.northeastern.cs5500.starterbot.model.AttendeeSet;
+import edu.northeastern.cs5500.starterbot.model.EventUser;
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import edu.northeastern.cs5500.starterbot.model.StudyEventLocation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int ITEMS_PER_THREAD = 500;
+
+    @Test
+    void testConcurrentAddAndGetAll() throws Exception {
+        InMemoryRepository<StudyEvent> repository = new InMemoryRepository<>(StudyEvent::copy);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int j = 0; j < ITEMS_PER_THREAD; j++) {
+                                    repository.add(new StudyEvent());
+                                    // Iterating while other threads write must not throw
+                                    assertThat(repository.getAll().size()).isAtLeast(j + 1);
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(repository.count()).isEqualTo(THREADS * ITEMS_PER_THREAD);
+        assertThat(repository.getAll()).hasSize(THREADS * ITEMS_PER_THREAD);
+    }
+
+    @Test
+    void testConcurrentFindOneAndUpdateDoesNotOverbook() throws Exception {
+        InMemoryRepository<StudyEvent> repository = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = new StudyEvent();
+        studyEvent.setMaxAttendees(10);
+        studyEvent.setAttendeesList(AttendeeSet.of());
+        repository.add(studyEvent);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * 10; i++) {
+            long userId = i;
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                Query<StudyEvent> hasOpenSeat =
+                                        Query.<StudyEvent>byId(studyEvent.getId())
+                                                .lessThanField(
+                                                        StudyEvent.ATTENDEE_COUNT_FIELD,
+                                                        StudyEvent::getAttendeeCount,
+                                                        StudyEvent.MAX_ATTENDEES_FIELD,
+                                                        StudyEvent::getMaxAttendees);
+                                Update<StudyEvent> addUser =
+                                        Update.<StudyEvent>of()
+                                                .inc(
+                                                        StudyEvent.ATTENDEE_COUNT_FIELD,
+                                                        StudyEvent::getAttendeeCount,
+                                                        StudyEvent::setAttendeeCount,
+                                                        1)
+                                                .addToSet(
+                                                        StudyEvent.ATTENDEES_FIELD,
+                                                        StudyEvent::getAttendeesList,
+                                                        StudyEvent::setAttendeesList,
+                                                        userId,
+                                                        AttendeeSet::withAttendee);
+                                if (repository.findOneAndUpdate(hasOpenSeat, addUser) != null) {
+                                    accepted.incrementAndGet();
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accepted.get()).isEqualTo(10);
+        assertThat(repository.get(studyEvent.getId()).getAttendeesList()).hasSize(10);
+        assertThat(repository.get(studyEvent.getId()).getAttendeeCount()).isEqualTo(10);
+    }
+
+    @Test
+    void testConcurrentAddIfAbsentAddsOnce() throws Exception {
+        InMemoryRepository<EventUser> repository =
+                new InMemoryRepository<EventUser>(EventUser::copy)
+                        .withUniqueIndex(EventUser.DISCORD_ID_FIELD, EventUser::getDiscordId);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger added = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * 10; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                EventUser eventUser = new EventUser();
+                                eventUser.setDiscordId("1234");
+                                if (repository.addIfAbsent(eventUser)) {
+                                    added.incrementAndGet();
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(added.get()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentFindOneAndDeleteDeletesOnce() throws Exception {
+        InMemoryRepository<StudyEvent> repository = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = repository.add(new StudyEvent());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger deleted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS * 10; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                StudyEvent removed =
+                                        repository.findOneAndDelete(
+                                                Query.byId(studyEvent.getId()));
+                                if (removed != null) {
+                                    deleted.incrementAndGet();
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(deleted.get()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(0);
+    }
+
+    @Test
+    void testBulkWrites() {
+        InMemoryRepository<EventUser> repository =
+                new InMemoryRepository<EventUser>(EventUser::copy)
+                        .withUniqueIndex(EventUser.DISCORD_ID_FIELD, EventUser::getDiscordId);
+        EventUser first = createEventUser("1");
+        EventUser second = createEventUser("2");
+        EventUser duplicate = createEventUser("1");
+        BulkResult added = repository.addAll(List.of(first, second, duplicate));
+        assertThat(added.getWrittenCount()).isEqualTo(2);
+        assertThat(added.getFailedIndexes()).containsExactly(2);
+        assertThat(added.isFailed(0)).isFalse();
+        assertThat(repository.count()).isEqualTo(2);
+
+        EventUser renamed = createEventUser("3");
+        renamed.setId(second.getId());
+        EventUser missing = createEventUser("4");
+        missing.setId(duplicate.getId());
+        assertThat(repository.updateAll(List.of(renamed, missing)).getWrittenCount())
+                .isEqualTo(1);
+        assertThat(repository.get(second.getId())).isSameInstanceAs(renamed);
+        assertThat(repository.get(duplicate.getId())).isNull();
+        assertThat(
+                        repository.find(
+                                Query.<EventUser>where()
+                                        .eq(
+                                                EventUser.DISCORD_ID_FIELD,
+                                                EventUser::getDiscordId,
+                                                "3")))
+                .containsExactly(renamed);
+
+        BulkResult deleted = repository.deleteAll(List.of(first.getId(), duplicate.getId()));
+        assertThat(deleted.getWrittenCount()).isEqualTo(1);
+        assertThat(deleted.getFailedIndexes()).isEmpty();
+        assertThat(repository.getAll()).containsExactly(renamed);
+    }
+
+    @Test
+    void testIndexedQueries() {
+        InMemoryRepository<StudyEvent> repository =
+                new InMemoryRepository<StudyEvent>(StudyEvent::copy)
+                        .withIndex(StudyEvent.ORGANIZER_FIELD, StudyEvent::getOrganizer);
+        StudyEvent online = createStudyEvent("organizer1", StudyEventLocation.ONLINE);
+        StudyEvent boston = createStudyEvent("organizer1", StudyEventLocation.BOSTON);
+        StudyEvent other = createStudyEvent("organizer2", StudyEventLocation.ONLINE);
+        repository.add(online);
+        repository.add(boston);
+        repository.add(other);
+        // Declared after the items were added, so existing items must be indexed too
+        repository.withEnumIndex(
+                StudyEvent.LOCATION_FIELD, StudyEventLocation.class, StudyEvent::getLocation);
+
+        assertThat(repository.find(byOrganizer("organizer1"))).containsExactly(online, boston);
+        assertThat(
+                        repository.find(
+                                byOrganizer("organizer1")
+                                        .eq(
+                                                StudyEvent.LOCATION_FIELD,
+                                                StudyEvent::getLocation,
+                                                StudyEventLocation.ONLINE)))
+                .containsExactly(online);
+        assertThat(
+                        repository.find(
+                                Query.<StudyEvent>where()
+                                        .in(
+                                                StudyEvent.ORGANIZER_FIELD,
+                                                StudyEvent::getOrganizer,
+                                                List.of("organizer1", "organizer2"))))
+                .containsExactly(online, boston, other);
+
+        // Indexes follow updates, patches and deletes
+        StudyEvent movedBoston =
+                repository.patch(
+                        boston.getId(),
+                        Update.<StudyEvent>of()
+                                .set(
+                                        StudyEvent.ORGANIZER_FIELD,
+                                        StudyEvent::setOrganizer,
+                                        "organizer2"));
+        assertThat(repository.find(byOrganizer("organizer2")))
+                .containsExactly(movedBoston, other);
+        repository.delete(other.getId());
+        assertThat(repository.find(byOrganizer("organizer2"))).containsExactly(movedBoston);
+        assertThat(repository.find(byOrganizer("organizer3"))).isEmpty();
+    }
+
+    @Test
+    void testRangeIndexedQueries() {
+        InMemoryRepository<StudyEvent> repository =
+                new InMemoryRepository<StudyEvent>(StudyEvent::copy)
+                        .withRangeIndex(StudyEvent.START_FIELD, StudyEvent::getStart);
+        List<StudyEvent> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            StudyEvent studyEvent =
+                    createStudyEvent("organizer" + i % 2, StudyEventLocation.ONLINE);
+            studyEvent.setStart(new Date(i * 1000L));
+            events.add(repository.add(studyEvent));
+        }
+
+        Query<StudyEvent> window =
+                Query.<StudyEvent>where()
+                        .gte(StudyEvent.START_FIELD, StudyEvent::getStart, new Date(1000L))
+                        .lt(StudyEvent.START_FIELD, StudyEvent::getStart, new Date(5000L))
+                        .sortAscending(StudyEvent.START_FIELD, StudyEvent::getStart);
+        assertThat(repository.find(window))
+                .containsExactlyElementsIn(events.subList(1, 5))
+                .inOrder();
+        assertThat(repository.find(window.limit(2)))
+                .containsExactlyElementsIn(events.subList(1, 3))
+                .inOrder();
+
+        Query<StudyEvent> descending =
+                byOrganizer("organizer1")
+                        .gt(StudyEvent.START_FIELD, StudyEvent::getStart, new Date(1000L))
+                        .sortDescending(StudyEvent.START_FIELD, StudyEvent::getStart)
+                        .limit(1);
+        assertThat(repository.find(descending)).containsExactly(events.get(5));
+
+        // Moving an event updates its position in the index
+        StudyEvent moved =
+                repository.patch(
+                        events.get(0).getId(),
+                        Update.<StudyEvent>of()
+                                .set(
+                                        StudyEvent.START_FIELD,
+                                        StudyEvent::setStart,
+                                        new Date(4500L)));
+        assertThat(repository.find(window.limit(0)))
+                .containsExactly(events.get(1), events.get(2), events.get(3), events.get(4), moved)
+                .inOrder();
+    }
+
+    @Test
+    void testWritesLeaveItemsAlreadyReadUnchanged() {
+        InMemoryRepository<StudyEvent> repository = new InMemoryRepository<>(StudyEvent::copy);
+        StudyEvent studyEvent = createStudyEvent("organizer", StudyEventLocation.ONLINE);
+        studyEvent.setAttendeesList(AttendeeSet.of());
+        repository.add(studyEvent);
+        StudyEvent read = repository.get(studyEvent.getId());
+        Collection<StudyEvent> snapshot = repository.getAll();
+
+        StudyEvent updated =
+                repository.findOneAndUpdate(
+                        Query.byId(studyEvent.getId()),
+                        Update.<StudyEvent>of()
+                                .addToSet(
+                                        StudyEvent.ATTENDEES_FIELD,
+                                        StudyEvent::getAttendeesList,
+                                        StudyEvent::setAttendeesList,
+                                        1L,
+                                        AttendeeSet::withAttendee));
+        StudyEvent patched =
+                repository.patch(
+                        studyEvent.getId(),
+                        Update.<StudyEvent>of()
+                                .set(StudyEvent.ORGANIZER_FIELD, StudyEvent::setOrganizer, "new"));
+
+        assertThat(read.getAttendeesList()).isEmpty();
+        assertThat(read.getOrganizer()).isEqualTo("organizer");
+        assertThat(Iterables.getOnlyElement(snapshot)).isSameInstanceAs(read);
+        assertThat(updated.getAttendeesList()).containsExactly(1L);
+        assertThat(updated.getOrganizer()).isEqualTo("organizer");
+        assertThat(patched.getAttendeesList()).containsExactly(1L);
+        assertThat(patched.getOrganizer()).isEqualTo("new");
+        assertThat(repository.get(studyEvent.getId())).isSameInstanceAs(patched);
+    }
+
+    private static Query<StudyEvent> byOrganizer(String organizer) {
+        return Query.<StudyEvent>where()
+                .eq(StudyEvent.ORGANIZER_FIELD, StudyEvent::getOrganizer, organizer);
+    }
+
+    private static EventUser createEventUser(String discordId) {
+        EventUser eventUser = new EventUser();
+        eventUser.setDiscordId(discordId);
+        return eventUser;
+    }
+
+    private static StudyEvent createStudyEvent(String organizer, StudyEventLocation location) {
+        StudyEvent studyEvent = new StudyEvent();
+        studyEvent.setOrganizer(organizer);
+        studyEvent.setLocation(location);
+        return studyEvent;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.StudyEvent;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+public class UnitOfWorkRepositoryTest {
+
+    /** Counts the round trips that reach the stored items. */
+    private static class CountingRepository extends InMemoryRepository<StudyEvent> {
+        final AtomicInteger gets = new AtomicInteger();
+        final AtomicInteger writes = new AtomicInteger();
+
+        CountingRepository() {
+            super(StudyEvent::copy);
+        }
+
+        @Override
+        public StudyEvent get(@Nonnull ObjectId id) {
+            gets.incrementAndGet();
+            return super.get(id);
+        }
+
+        @Override
+        public StudyEvent update(@Nonnull StudyEvent item) {
+            writes.incrementAndGet();
+            return super.update(item);
+        }
+    }
+
+    @Test
+    void testLoadsAreMemoizedWithinAUnitOfWork() {
+        CountingRepository stored = new CountingRepository();
+        UnitOfWorkRepository<StudyEvent> repository = new UnitOfWorkRepository<>(stored);
+        StudyEvent studyEvent = repository.add(new StudyEvent());
+        ObjectId missingId = new ObjectId();
+
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            assertThat(repository.get(studyEvent.getId())).isSameInstanceAs(studyEvent);
+            assertThat(repository.get(studyEvent.getId())).isSameInstanceAs(studyEvent);
+            assertThat(repository.get(missingId)).isNull();
+            assertThat(repository.get(missingId)).isNull();
+            assertThat(stored.gets.get()).isEqualTo(1);
+
+            UnitOfWork.evict(studyEvent.getId());
+            repository.get(studyEvent.getId());
+            assertThat(stored.gets.get()).isEqualTo(2);
+        }
+
+        // Outside a unit of work every load reaches the stored items
+        repository.get(studyEvent.getId());
+        repository.get(studyEvent.getId());
+        assertThat(stored.gets.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testWritesGoThroughAndRefreshLoadedItems() {
+        CountingRepository stored = new CountingRepository();
+        UnitOfWorkRepository<StudyEvent> repository = new UnitOfWorkRepository<>(stored);
+        StudyEvent studyEvent = repository.add(new StudyEvent());
+
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            repository.get(studyEvent.getId());
+
+            StudyEvent renamed = new StudyEvent();
+            renamed.setId(studyEvent.getId());
+            renamed.setTitle("renamed");
+            repository.update(renamed);
+            // Written before the handler could reply, not when the unit of work closes
+            assertThat(stored.writes.get()).isEqualTo(1);
+            assertThat(repository.get(studyEvent.getId()).getTitle()).isEqualTo("renamed");
+            assertThat(stored.gets.get()).isEqualTo(2);
+
+            // Joining the open unit of work keeps what it has loaded
+            try (UnitOfWork nested = UnitOfWork.begin()) {
+                assertThat(nested).isSameInstanceAs(unitOfWork);
+            }
+            repository.get(studyEvent.getId());
+            assertThat(stored.gets.get()).isEqualTo(2);
+
+            StudyEvent patched =
+                    repository.patch(
+                            studyEvent.getId(),
+                            Update.<StudyEvent>of()
+                                    .set(StudyEvent.TITLE_FIELD, StudyEvent::setTitle, "patched"));
+            assertThat(repository.get(studyEvent.getId())).isSameInstanceAs(patched);
+
+            StudyEvent deleted = repository.findOneAndDelete(Query.byId(studyEvent.getId()));
+            assertThat(deleted).isNotNull();
+            assertThat(repository.get(studyEvent.getId())).isNull();
+            assertThat(stored.gets.get()).isEqualTo(2);
+        }
+
+        assertThat(stored.count()).isEqualTo(0);
+    }
+}
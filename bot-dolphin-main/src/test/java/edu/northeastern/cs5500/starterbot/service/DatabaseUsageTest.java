@@ -0,0 +1,51 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.List;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+
+class DatabaseUsageTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final RawBsonDocument REPLY = RawBsonDocument.parse("{\"ok\": 1}");
+
+    private static void runCommand() {
+        DatabaseUsage.LISTENER.commandSucceeded(
+                new CommandSucceededEvent(1, CONNECTION, "find", REPLY, 1_000_000L));
+    }
+
+    @Test
+    void testWorkDoneOnBehalfOfInteractionsIsAddedToEachOfThem() {
+        DatabaseUsage first = DatabaseUsage.begin("rsvp");
+        DatabaseUsage second = DatabaseUsage.begin("unrsvp");
+
+        DatabaseUsage.runOnBehalfOf(
+                List.of(first, second),
+                () -> {
+                    runCommand();
+                    runCommand();
+                });
+        assertThat(first.calls.get()).isEqualTo(2);
+        assertThat(second.calls.get()).isEqualTo(2);
+        assertThat(first.bytes.get()).isEqualTo(2L * REPLY.getByteBuffer().remaining());
+        assertThat(first.nanos.get()).isEqualTo(2_000_000L);
+
+        // The usage open before is counted in again afterwards
+        assertThat(DatabaseUsage.current()).isSameInstanceAs(second);
+        runCommand();
+        assertThat(first.calls.get()).isEqualTo(2);
+        assertThat(second.calls.get()).isEqualTo(3);
+
+        second.close();
+        first.close();
+        assertThat(DatabaseUsage.current()).isNull();
+    }
+}